@@ -1,5 +1,6 @@
 package xyz.brassgoggledcoders.skyships;
 
+import com.mojang.logging.LogUtils;
 import com.tterrag.registrate.Registrate;
 import com.tterrag.registrate.providers.loot.RegistrateEntityLootTables;
 import com.tterrag.registrate.providers.loot.RegistrateLootTableProvider.LootType;
@@ -10,8 +11,12 @@ import net.minecraft.world.item.Items;
 import net.minecraft.world.level.storage.loot.parameters.LootContextParamSets;
 import net.minecraftforge.common.util.Lazy;
 import net.minecraftforge.fml.ModList;
+import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
+import org.slf4j.Logger;
 import xyz.brassgoggledcoders.skyships.compat.transport.SkyShipsTransport;
+import xyz.brassgoggledcoders.skyships.config.SkyShipsConfig;
 import xyz.brassgoggledcoders.skyships.content.SkyShipsBlocks;
 import xyz.brassgoggledcoders.skyships.content.SkyShipsEntities;
 import xyz.brassgoggledcoders.skyships.content.SkyShipsItems;
@@ -25,6 +30,7 @@ import java.util.function.Supplier;
 @Mod(SkyShips.ID)
 public class SkyShips {
     public static final String ID = "skyships";
+    public static final Logger LOGGER = LogUtils.getLogger();
 
     private static final Lazy<Registrate> REGISTRATE_LAZY = Lazy.of(() -> Registrate.create(ID)
             .creativeModeTab(() -> new CreativeModeTab(ID) {
@@ -47,6 +53,9 @@ public class SkyShips {
     public SkyShips() {
         networkHandler = new NetworkHandler();
 
+        ModLoadingContext.get().registerConfig(ModConfig.Type.COMMON, SkyShipsConfig.COMMON_SPEC);
+        ModLoadingContext.get().registerConfig(ModConfig.Type.CLIENT, SkyShipsConfig.CLIENT_SPEC);
+
         SkyShipsBlocks.setup();
         SkyShipsItems.setup();
         SkyShipsEntities.setup();
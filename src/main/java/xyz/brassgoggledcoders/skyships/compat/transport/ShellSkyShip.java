@@ -2,6 +2,7 @@ package xyz.brassgoggledcoders.skyships.compat.transport;
 
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
@@ -17,6 +18,7 @@ import net.minecraftforge.common.util.LazyOptional;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+import xyz.brassgoggledcoders.transport.api.TransportAPI;
 import xyz.brassgoggledcoders.transport.api.shell.IShell;
 import xyz.brassgoggledcoders.transport.api.shellcontent.ShellContent;
 import xyz.brassgoggledcoders.transport.api.shellcontent.ShellContentCreatorInfo;
@@ -71,6 +73,27 @@ public class ShellSkyShip extends SkyShip implements IShell {
         pCompound.put(ShellContentCreatorInfo.NBT_TAG_ELEMENT, this.getHolder().serializeNBT());
     }
 
+    /**
+     * Sends which content the shell holds, in the same form a shell item carries it, so the client can create it
+     * before the first frame. The content's own state is left to the holder's sync.
+     */
+    @Override
+    public void writeSpawnData(FriendlyByteBuf buffer) {
+        super.writeSpawnData(buffer);
+        ItemStack identity = this.asItemStack();
+        this.getContent().getCreatorInfo().embedNBT(identity);
+        buffer.writeNbt(identity.getTagElement(ShellContentCreatorInfo.NBT_TAG_ELEMENT));
+    }
+
+    @Override
+    public void readSpawnData(FriendlyByteBuf additionalData) {
+        super.readSpawnData(additionalData);
+        CompoundTag identity = additionalData.readNbt();
+        if (identity != null) {
+            this.getHolder().update(TransportAPI.SHELL_CONTENT_CREATOR.get().create(identity));
+        }
+    }
+
     @Override
     public void destroy(@NotNull DamageSource damageSource) {
         this.kill();
@@ -10,6 +10,7 @@ import net.minecraft.world.level.storage.loot.LootTable;
 import xyz.brassgoggledcoders.skyships.SkyShips;
 import xyz.brassgoggledcoders.skyships.content.SkyShipsEntityTags;
 import xyz.brassgoggledcoders.skyships.content.SkyShipsItems;
+import xyz.brassgoggledcoders.skyships.level.SkyShipSync;
 import xyz.brassgoggledcoders.skyships.registrate.NonLivingEntityLootTables;
 import xyz.brassgoggledcoders.transport.data.recipe.ShellItemRecipeBuilder;
 
@@ -20,6 +21,9 @@ public class SkyShipsTransport {
             .object("shell_sky_ship")
             .<ShellSkyShip>entity(ShellSkyShip::new, MobCategory.MISC)
             .properties(skyShipEntityBuilder -> skyShipEntityBuilder.clientTrackingRange(10)
+                    //Positions go out in SkyShipSync's fleet packets instead
+                    .updateInterval(SkyShipSync.VANILLA_UPDATE_INTERVAL)
+                    .setShouldReceiveVelocityUpdates(false)
                     .sized(1.75f, 4f)
             )
             .renderer(() -> ShellSkyShipRenderer::new)
@@ -0,0 +1,66 @@
+package xyz.brassgoggledcoders.skyships.config;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+
+public class SkyShipsConfig {
+    public static final ForgeConfigSpec COMMON_SPEC;
+    public static final ForgeConfigSpec CLIENT_SPEC;
+
+    public static final ForgeConfigSpec.IntValue PHYSICS_SUB_STEPS;
+    public static final ForgeConfigSpec.BooleanValue PARALLEL_ENVIRONMENT;
+    public static final ForgeConfigSpec.IntValue PARALLEL_ENVIRONMENT_THRESHOLD;
+
+    public static final ForgeConfigSpec.IntValue NEAR_UPDATE_DISTANCE;
+    public static final ForgeConfigSpec.IntValue NEAR_UPDATE_INTERVAL;
+    public static final ForgeConfigSpec.IntValue MID_UPDATE_DISTANCE;
+    public static final ForgeConfigSpec.IntValue MID_UPDATE_INTERVAL;
+    public static final ForgeConfigSpec.IntValue FAR_UPDATE_INTERVAL;
+
+    public static final ForgeConfigSpec.BooleanValue INSTANCED_RENDERING;
+    public static final ForgeConfigSpec.IntValue SIMPLIFIED_DETAIL_DISTANCE;
+    public static final ForgeConfigSpec.IntValue IMPOSTOR_DISTANCE;
+    public static final ForgeConfigSpec.BooleanValue SHOW_DETAIL_OVERLAY;
+
+    static {
+        ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
+
+        builder.push("ships");
+        PHYSICS_SUB_STEPS = builder.comment("Most steps a fast moving sky ship's movement is split into each tick")
+                .defineInRange("physicsSubSteps", 4, 1, 16);
+        PARALLEL_ENVIRONMENT = builder.comment("Work out the surroundings of a level's sky ships across worker threads")
+                .define("parallelEnvironment", false);
+        PARALLEL_ENVIRONMENT_THRESHOLD = builder.comment("Sky ships that must need their surroundings worked out in a tick before it is done in parallel")
+                .defineInRange("parallelEnvironmentThreshold", 8, 1, 1024);
+        builder.pop();
+
+        builder.push("tracking");
+        NEAR_UPDATE_DISTANCE = builder.comment("Blocks within which players see sky ships at the near update rate")
+                .defineInRange("nearUpdateDistance", 32, 0, 512);
+        NEAR_UPDATE_INTERVAL = builder.comment("Ticks between sky ship position updates for nearby players")
+                .defineInRange("nearUpdateInterval", 1, 1, 20);
+        MID_UPDATE_DISTANCE = builder.comment("Blocks within which players see sky ships at the mid update rate")
+                .defineInRange("midUpdateDistance", 80, 0, 512);
+        MID_UPDATE_INTERVAL = builder.comment("Ticks between sky ship position updates for players at mid distance")
+                .defineInRange("midUpdateInterval", 3, 1, 20);
+        FAR_UPDATE_INTERVAL = builder.comment("Ticks between sky ship position updates for distant players")
+                .defineInRange("farUpdateInterval", 8, 1, 20);
+        builder.pop();
+
+        COMMON_SPEC = builder.build();
+
+        ForgeConfigSpec.Builder clientBuilder = new ForgeConfigSpec.Builder();
+
+        clientBuilder.push("rendering");
+        INSTANCED_RENDERING = clientBuilder.comment("Draw sky ships in one instanced call per kind of ship. Ignored while shader packs are in use")
+                .define("instancedRendering", false);
+        SIMPLIFIED_DETAIL_DISTANCE = clientBuilder.comment("Blocks beyond which sky ships are drawn without their outer balloon shell, ropes and propellers")
+                .defineInRange("simplifiedDetailDistance", 48, 0, 1024);
+        IMPOSTOR_DISTANCE = clientBuilder.comment("Blocks beyond which sky ships are drawn as a flat picture facing the camera")
+                .defineInRange("impostorDistance", 128, 0, 1024);
+        SHOW_DETAIL_OVERLAY = clientBuilder.comment("Label each sky ship with the level of detail it is drawn at")
+                .define("showDetailOverlay", false);
+        clientBuilder.pop();
+
+        CLIENT_SPEC = clientBuilder.build();
+    }
+}
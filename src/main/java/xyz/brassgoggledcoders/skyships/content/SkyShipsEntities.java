@@ -9,6 +9,7 @@ import net.minecraft.world.level.storage.loot.entries.LootItem;
 import xyz.brassgoggledcoders.skyships.SkyShips;
 import xyz.brassgoggledcoders.skyships.entity.AeroporteHook;
 import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+import xyz.brassgoggledcoders.skyships.level.SkyShipSync;
 import xyz.brassgoggledcoders.skyships.registrate.NonLivingEntityLootTables;
 import xyz.brassgoggledcoders.skyships.renderer.AeroporteHookRenderer;
 import xyz.brassgoggledcoders.skyships.renderer.SkyShipRenderer;
@@ -19,6 +20,9 @@ public class SkyShipsEntities {
             .object("sky_ship")
             .<SkyShip>entity(SkyShip::new, MobCategory.MISC)
             .properties(skyShipEntityBuilder -> skyShipEntityBuilder.clientTrackingRange(10)
+                    //Positions go out in SkyShipSync's fleet packets instead
+                    .updateInterval(SkyShipSync.VANILLA_UPDATE_INTERVAL)
+                    .setShouldReceiveVelocityUpdates(false)
                     .sized(1.75f, 4f)
             )
             .renderer(() -> SkyShipRenderer::new)
@@ -34,6 +38,8 @@ public class SkyShipsEntities {
             .object("aeroporte_hook")
             .<AeroporteHook>entity(AeroporteHook::new, MobCategory.MISC)
             .properties(properties -> properties.clientTrackingRange(10)
+                    .updateInterval(AeroporteHook.UPDATE_INTERVAL)
+                    .setShouldReceiveVelocityUpdates(false)
                     .sized(0.25F, 0.25F)
             )
             .setData(ProviderType.LOOT, NonLivingEntityLootTables.loot(LootTable::lootTable))
@@ -19,12 +19,20 @@ import xyz.brassgoggledcoders.skyships.content.SkyShipsEntities;
 import javax.annotation.Nonnull;
 
 public class AeroporteHook extends Entity {
+    /**
+     * The hook's update interval, so vanilla never sends a move on its own schedule. Clients move the hook towards its
+     * synced target height themselves, and a new target height or release flag is entity data, which brings a move
+     * with the hook's real position along with it.
+     */
+    public static final int UPDATE_INTERVAL = Integer.MAX_VALUE;
+
     private static final EntityDataAccessor<BlockPos> CONTROLLER_POS = SynchedEntityData.defineId(AeroporteHook.class, EntityDataSerializers.BLOCK_POS);
     private static final EntityDataAccessor<Float> TARGET_HEIGHT = SynchedEntityData.defineId(AeroporteHook.class, EntityDataSerializers.FLOAT);
     private static final EntityDataAccessor<Integer> TARGET_ID = SynchedEntityData.defineId(AeroporteHook.class, EntityDataSerializers.INT);
+    //Synced with the target height so clients move the hook, and the ship on it, themselves
+    private static final EntityDataAccessor<Boolean> RELEASE_AT_TARGET = SynchedEntityData.defineId(AeroporteHook.class, EntityDataSerializers.BOOLEAN);
 
     private int controllerCheckTick = 0;
-    private boolean releaseAtTarget;
     private int ticksWithoutPassenger = 0;
 
     public AeroporteHook(EntityType<?> type, Level world) {
@@ -58,17 +66,19 @@ public class AeroporteHook extends Entity {
 
     @Override
     public void tick() {
+        //Clients only move the hook, boarding, release and removal come from the server's passenger and remove packets
+        boolean server = !this.level.isClientSide;
         if (this.getFirstPassenger() == null) {
             if (this.getTargetId() > 0) {
                 Entity entity = this.getLevel().getEntity(this.getTargetId());
-                if (entity != null && entity.getVehicle() == null) {
+                if (server && entity != null && entity.getVehicle() == null) {
                     entity.startRiding(this);
                 }
-                if (this.ticksWithoutPassenger++ > 10) {
+                if (this.ticksWithoutPassenger++ > 10 && server) {
                     this.setRemoved(RemovalReason.KILLED);
                 }
             } else {
-                if (this.ticksWithoutPassenger++ > 100) {
+                if (this.ticksWithoutPassenger++ > 100 && server) {
                     this.setRemoved(RemovalReason.KILLED);
                 }
             }
@@ -77,7 +87,7 @@ public class AeroporteHook extends Entity {
             this.ticksWithoutPassenger = 0;
         }
 
-        if (this.controllerCheckTick-- <= 0) {
+        if (server && this.controllerCheckTick-- <= 0) {
             if (!(this.getLevel().getBlockEntity(this.getControllerPos()) instanceof AeroporteControllerBlockEntity)) {
                 this.setRemoved(RemovalReason.KILLED);
             }
@@ -91,7 +101,7 @@ public class AeroporteHook extends Entity {
                 } else {
                     this.move(MoverType.SELF, new Vec3(0, -0.25F, 0));
                 }
-            } else if (this.isReleaseAtTarget()) {
+            } else if (server && this.isReleaseAtTarget()) {
                 this.getPassengers().forEach(Entity::stopRiding);
             }
         }
@@ -102,6 +112,7 @@ public class AeroporteHook extends Entity {
         this.entityData.define(CONTROLLER_POS, BlockPos.ZERO);
         this.entityData.define(TARGET_HEIGHT, 0F);
         this.entityData.define(TARGET_ID, -1);
+        this.entityData.define(RELEASE_AT_TARGET, false);
     }
 
     @Override
@@ -136,10 +147,10 @@ public class AeroporteHook extends Entity {
     }
 
     public boolean isReleaseAtTarget() {
-        return releaseAtTarget;
+        return this.entityData.get(RELEASE_AT_TARGET);
     }
 
     public void setReleaseAtTarget(boolean releaseAtTarget) {
-        this.releaseAtTarget = releaseAtTarget;
+        this.entityData.set(RELEASE_AT_TARGET, releaseAtTarget);
     }
 }
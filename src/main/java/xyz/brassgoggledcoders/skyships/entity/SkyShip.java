@@ -2,17 +2,17 @@ package xyz.brassgoggledcoders.skyships.entity;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
 import net.minecraft.BlockUtil;
+import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.protocol.Packet;
-import net.minecraft.network.syncher.EntityDataAccessor;
-import net.minecraft.network.syncher.EntityDataSerializers;
-import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvent;
-import net.minecraft.tags.FluidTags;
 import net.minecraft.util.Mth;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
@@ -24,66 +24,124 @@ import net.minecraft.world.entity.vehicle.Boat;
 import net.minecraft.world.entity.vehicle.DismountHelper;
 import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.WaterlilyBlock;
-import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.border.WorldBorder;
 import net.minecraft.world.level.storage.loot.LootContext;
 import net.minecraft.world.level.storage.loot.parameters.LootContextParamSets;
 import net.minecraft.world.level.storage.loot.parameters.LootContextParams;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
-import net.minecraft.world.phys.shapes.BooleanOp;
-import net.minecraft.world.phys.shapes.Shapes;
-import net.minecraft.world.phys.shapes.VoxelShape;
+import net.minecraft.world.scores.Team;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.entity.IEntityAdditionalSpawnData;
+import net.minecraftforge.fml.DistExecutor;
 import net.minecraftforge.network.NetworkHooks;
 import org.jetbrains.annotations.NotNull;
 import xyz.brassgoggledcoders.skyships.SkyShips;
+import xyz.brassgoggledcoders.skyships.config.SkyShipsConfig;
 import xyz.brassgoggledcoders.skyships.content.SkyShipsEntities;
+import xyz.brassgoggledcoders.skyships.level.SkyShipProximity;
+import xyz.brassgoggledcoders.skyships.level.SkyShipSimulation;
+import xyz.brassgoggledcoders.skyships.level.SkyShipTracker;
+import xyz.brassgoggledcoders.skyships.network.SkyShipControlInputs;
+import xyz.brassgoggledcoders.skyships.network.SkyShipCorrectionPacket;
+import xyz.brassgoggledcoders.skyships.network.SkyShipHitPacket;
+import xyz.brassgoggledcoders.skyships.network.UpdateSkyShipControlPacket;
+import xyz.brassgoggledcoders.skyships.sound.SkyShipEngineSound;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
-public class SkyShip extends Entity {
+public class SkyShip extends Entity implements IEntityAdditionalSpawnData {
     private static final ImmutableMap<Pose, ImmutableList<Integer>> POSE_DISMOUNT_HEIGHTS = ImmutableMap.of(
             Pose.STANDING, ImmutableList.of(0, 1, -1),
             Pose.CROUCHING, ImmutableList.of(0, 1, -1),
             Pose.SWIMMING, ImmutableList.of(0, 1)
     );
 
-    private static final EntityDataAccessor<Integer> DATA_ID_HURT = SynchedEntityData.defineId(SkyShip.class, EntityDataSerializers.INT);
-    private static final EntityDataAccessor<Integer> DATA_ID_HURT_DIR = SynchedEntityData.defineId(SkyShip.class, EntityDataSerializers.INT);
-    private static final EntityDataAccessor<Float> DATA_ID_DAMAGE = SynchedEntityData.defineId(SkyShip.class, EntityDataSerializers.FLOAT);
-    private static final EntityDataAccessor<Boolean> DATA_ID_PADDLE_LEFT = SynchedEntityData.defineId(SkyShip.class, EntityDataSerializers.BOOLEAN);
-    private static final EntityDataAccessor<Boolean> DATA_ID_PADDLE_RIGHT = SynchedEntityData.defineId(SkyShip.class, EntityDataSerializers.BOOLEAN);
-    private static final EntityDataAccessor<Integer> DATA_ID_BUBBLE_TIME = SynchedEntityData.defineId(SkyShip.class, EntityDataSerializers.INT);
-    private static final EntityDataAccessor<Integer> DATA_ID_VERTICAL = SynchedEntityData.defineId(SkyShip.class, EntityDataSerializers.INT);
+    private static final int TICKS_TO_DORMANT = 20;
+    private static final double RESTING_MOVEMENT = 1.0E-6D;
+    private static final double MAX_SUB_STEP_DISTANCE = 0.5D;
+    private static final int CONTROL_HEARTBEAT_TICKS = 4;
+    private static final double TELEPORT_DISTANCE_SQR = 16.0D * 16.0D;
+
+    //Paddles and vertical travel packed in SkyShipFleetPacket and hits as SkyShipHitPacket, rather than as entity data
+    private static final int PADDLE_LEFT = 1;
+    private static final int PADDLE_RIGHT = 1 << 1;
+    private static final int PADDLE_VERTICAL_SHIFT = 2;
 
     private final float[] paddlePositions = new float[2];
+    private boolean paddleLeft;
+    private boolean paddleRight;
+    private int paddleVertical;
+    private int hurtTime;
+    private int hurtDir = 1;
+    private float damage;
     private float outOfControlTicks;
     private float deltaRotation;
 
-    private int lerpSteps;
-    private double lerpX;
-    private double lerpY;
-    private double lerpZ;
-    private double lerpYRot;
-    private double lerpXRot;
+    private final SkyShipInterpolation interpolation = new SkyShipInterpolation();
+    private double syncedX = Double.NaN;
+    private double syncedY = Double.NaN;
+    private double syncedZ = Double.NaN;
 
     private boolean inputLeft;
     private boolean inputRight;
     private boolean inputUp;
     private boolean inputDown;
     private int inputVertical;
+    private int sentControl = -1;
+    private int ticksSinceControlSent;
+    @Nullable
+    private UpdateSkyShipControlPacket reportedControl;
+    private final SkyShipPrediction prediction = new SkyShipPrediction();
+    private boolean replaying;
+    private boolean rejectingPlayerMove;
+    private final Set<ServerPlayer> seenBy = new ReferenceArraySet<>();
 
     private double waterLevel;
     private float landFriction;
 
+    private final SkyShipEnvironment environment = new SkyShipEnvironment();
+    @Nullable
+    private SkyShipTracker tracker;
+    @Nullable
+    private SkyShipProximity proximity;
     private SkyShipStatus status;
     private SkyShipStatus oldStatus;
     private double lastYd;
+    private AABB pushSourceBox;
+    private AABB pushBox;
+    @Nullable
+    private Predicate<Entity> pushable;
+    @Nullable
+    private Team pushableTeam;
+    private Team.CollisionRule pushableRule = Team.CollisionRule.ALWAYS;
+    private final Consumer<Entity> pushOrBoard = this::pushOrBoard;
+    private Vec3 subStep = Vec3.ZERO;
+
+    private boolean engineSoundPlaying;
+    private int ticksSinceChanged;
+    private boolean paddlesChanged;
+    private int restingTicks;
+    private boolean dormant;
+
+    private int simulationIndex = -1;
+    @Nullable
+    private SkyShipStatus sampledStatus;
+    @Nullable
+    private Vec3 floatBatchedFrom;
+    private double floatBatchedX;
+    private double floatBatchedY;
+    private double floatBatchedZ;
+    private float floatBatchedFriction;
+    @Nullable
+    private Entity boardingCandidate;
 
     public SkyShip(EntityType<?> type, Level level) {
         super(type, level);
@@ -107,13 +165,20 @@ public class SkyShip extends Entity {
 
     @Override
     protected void defineSynchedData() {
-        this.entityData.define(DATA_ID_HURT, 0);
-        this.entityData.define(DATA_ID_HURT_DIR, 1);
-        this.entityData.define(DATA_ID_DAMAGE, 0.0F);
-        this.entityData.define(DATA_ID_PADDLE_LEFT, false);
-        this.entityData.define(DATA_ID_PADDLE_RIGHT, false);
-        this.entityData.define(DATA_ID_BUBBLE_TIME, 0);
-        this.entityData.define(DATA_ID_VERTICAL, 0);
+
+    }
+
+    public byte getPaddleControl() {
+        return (byte) ((this.paddleLeft ? PADDLE_LEFT : 0) | (this.paddleRight ? PADDLE_RIGHT : 0) |
+                (Integer.compare(this.paddleVertical, 0) + 1) << PADDLE_VERTICAL_SHIFT);
+    }
+
+    public void setPaddleControl(byte control) {
+        this.setPaddleState(
+                (control & PADDLE_LEFT) != 0,
+                (control & PADDLE_RIGHT) != 0,
+                Math.min((control >> PADDLE_VERTICAL_SHIFT) & 0b11, 2) - 1
+        );
     }
 
     @Override
@@ -129,6 +194,7 @@ public class SkyShip extends Entity {
     @Nonnull
     @ParametersAreNonnullByDefault
     public InteractionResult interact(Player pPlayer, InteractionHand pHand) {
+        this.wakeUp();
         if (pPlayer.isSecondaryUseActive()) {
             return InteractionResult.PASS;
         } else if (this.outOfControlTicks < 60.0F) {
@@ -146,6 +212,7 @@ public class SkyShip extends Entity {
     public boolean startRiding(@Nonnull Entity pVehicle, boolean force) {
         boolean startRiding = super.startRiding(pVehicle, force);
         if (startRiding) {
+            this.wakeUp();
             this.setPaddleState(false, false, 0);
         }
         return startRiding;
@@ -178,9 +245,11 @@ public class SkyShip extends Entity {
         if (this.isInvulnerableTo(pSource)) {
             return false;
         } else if (!this.level.isClientSide && this.isAlive()) {
+            this.wakeUp();
             this.setHurtDir(-this.getHurtDir());
             this.setHurtTime(10);
             this.setDamage(this.getDamage() + pAmount * 10.0F);
+            SkyShips.networkHandler.sendSkyShipHit(this);
             this.markHurt();
             boolean flag = pSource.getEntity() instanceof Player && ((Player) pSource.getEntity()).getAbilities().instabuild;
             if (flag || this.getDamage() > 40.0F) {
@@ -223,6 +292,12 @@ public class SkyShip extends Entity {
 
     @Override
     public void push(@Nonnull Entity pEntity) {
+        //Mobs walking into the ship push it themselves, which wakes a dormant ship for them to board it
+        if (this.boardingCandidate == null && this.canPickUp(pEntity)) {
+            this.boardingCandidate = pEntity;
+            this.wakeUp();
+        }
+
         if (pEntity instanceof Boat || pEntity instanceof SkyShip) {
             if (pEntity.getBoundingBox().minY < this.getBoundingBox().maxY) {
                 super.push(pEntity);
@@ -232,6 +307,68 @@ public class SkyShip extends Entity {
         }
     }
 
+    @Override
+    public void push(double pX, double pY, double pZ) {
+        super.push(pX, pY, pZ);
+        //The push shows up in the next fleet packet, rather than vanilla sending a move for the impulse
+        if (!this.level.isClientSide) {
+            this.hasImpulse = false;
+        }
+        this.wakeUp();
+    }
+
+    /**
+     * The server simulates a piloted ship from the control its pilot sends, so a vehicle move from the pilot's client
+     * is dropped here, along with the absMoveTo vanilla follows it with, on the main thread that handles it. Vanilla
+     * clients never send one for a ship, as it isn't controlled by the local instance there, but a modified one could.
+     */
+    @Override
+    public void move(@Nonnull MoverType pType, @Nonnull Vec3 pPos) {
+        if (pType == MoverType.PLAYER && !this.level.isClientSide) {
+            this.rejectingPlayerMove = true;
+            return;
+        }
+        super.move(pType, pPos);
+    }
+
+    @Override
+    public void absMoveTo(double pX, double pY, double pZ, float pYRot, float pXRot) {
+        if (this.rejectingPlayerMove) {
+            this.rejectingPlayerMove = false;
+            return;
+        }
+        super.absMoveTo(pX, pY, pZ, pYRot, pXRot);
+    }
+
+    /**
+     * Blocks were applied to the ship as each predicted tick first ran, so ticks replayed on a correction only move it.
+     */
+    @Override
+    protected void checkInsideBlocks() {
+        if (!this.replaying) {
+            super.checkInsideBlocks();
+        }
+    }
+
+    @Override
+    public boolean isSteppingCarefully() {
+        return this.replaying || super.isSteppingCarefully();
+    }
+
+    @Override
+    @Nonnull
+    protected MovementEmission getMovementEmission() {
+        return this.replaying ? MovementEmission.NONE : super.getMovementEmission();
+    }
+
+    @Override
+    public void setDeltaMovement(@Nonnull Vec3 pDeltaMovement) {
+        super.setDeltaMovement(pDeltaMovement);
+        if (this.dormant && pDeltaMovement.lengthSqr() > 0.0D) {
+            this.wakeUp();
+        }
+    }
+
     @Override
     public void animateHurt() {
         this.setHurtDir(-this.getHurtDir());
@@ -246,18 +383,59 @@ public class SkyShip extends Entity {
 
     @Override
     public void lerpTo(double pX, double pY, double pZ, float pYaw, float pPitch, int pPosRotationIncrements, boolean pTeleport) {
-        this.lerpX = pX;
-        this.lerpY = pY;
-        this.lerpZ = pZ;
-        this.lerpYRot = pYaw;
-        this.lerpXRot = pPitch;
-        this.lerpSteps = 10;
+        //The pilot's own ship only follows the server through its corrections
+        if (this.isPredicting()) {
+            return;
+        }
+        //Vanilla sends routine updates as teleports too, so only a real jump throws away what is buffered
+        if (pTeleport && this.interpolation.distanceToNewestSqr(pX, pY, pZ) > TELEPORT_DISTANCE_SQR) {
+            this.interpolation.clear();
+        }
+        this.interpolation.add(Util.getMillis(), pX, pY, pZ, pYaw, pPitch);
+    }
+
+    @Override
+    public void lerpMotion(double pX, double pY, double pZ) {
+        if (!this.isPredicting()) {
+            super.lerpMotion(pX, pY, pZ);
+        }
+    }
+
+    @Override
+    public boolean isControlledByLocalInstance() {
+        //The server simulates every ship, with the pilot's client predicting its own ship ahead of it
+        return !this.level.isClientSide;
+    }
+
+    public boolean isPredicting() {
+        return this.level.isClientSide && this.getControllingPassenger() instanceof Player player && player.isLocalPlayer();
     }
 
     @Override
     public void tick() {
+        SkyShipStatus currentStatus = this.sampledStatus != null ? this.sampledStatus : this.getStatus();
+        Vec3 floatBatchedFrom = this.floatBatchedFrom;
+        this.sampledStatus = null;
+        this.floatBatchedFrom = null;
+        this.rejectingPlayerMove = false;
+
+        boolean baseTicked = false;
+        if (this.dormant) {
+            //Only a change to the blocks around a dormant ship can move it without waking it up
+            if (currentStatus != this.status) {
+                this.wakeUp();
+            } else {
+                //Still checked for the void, lava, fluids and portals, any of which wakes it up through hurt or a push
+                super.tick();
+                baseTicked = true;
+                if (this.dormant) {
+                    return;
+                }
+            }
+        }
+
         this.oldStatus = this.status;
-        this.status = this.getStatus();
+        this.status = currentStatus;
         if (this.status != SkyShipStatus.UNDER_FLUID && this.status != SkyShipStatus.UNDER_FLOWING_FLUID) {
             this.outOfControlTicks = 0.0F;
         } else {
@@ -268,6 +446,14 @@ public class SkyShip extends Entity {
             this.ejectPassengers();
         }
 
+        if (!this.level.isClientSide && this.getControllingPassenger() instanceof Player player) {
+            UpdateSkyShipControlPacket control = SkyShipControlInputs.take(player);
+            if (control != null) {
+                this.setInput(control.getControl());
+                this.reportedControl = control;
+            }
+        }
+
         if (this.getHurtTime() > 0) {
             this.setHurtTime(this.getHurtTime() - 1);
         }
@@ -276,281 +462,494 @@ public class SkyShip extends Entity {
             this.setDamage(this.getDamage() - 1.0F);
         }
 
-        super.tick();
+        if (!baseTicked) {
+            super.tick();
+        }
         this.tickLerp();
-        if (this.isControlledByLocalInstance()) {
+        boolean predicting = this.isPredicting();
+        if (this.isControlledByLocalInstance() || predicting) {
             if (this.getPassengers().isEmpty() || !(this.getPassengers().get(0) instanceof Player)) {
                 this.setPaddleState(false, false, 0);
+                this.setInput(false, false, false, false, 0);
             }
 
-            this.floatBoat();
-            if (this.level.isClientSide) {
+            int sequence = predicting ? this.prediction.next() : 0;
+            //The batched float only holds while nothing has replaced the delta it was worked out from, such as
+            //flowing water pushing the ship in the base tick, which is otherwise slowed along with the rest of it
+            if (floatBatchedFrom != null && this.getDeltaMovement() == floatBatchedFrom) {
+                this.applyFloat(this.floatBatchedX, this.floatBatchedY, this.floatBatchedZ, this.floatBatchedFriction);
+            } else {
+                this.floatBoat();
+            }
+            if (this.getControllingPassenger() instanceof Player) {
                 this.controlBoat();
-                SkyShips.networkHandler.updateSkyShipControl(this.getPaddleState(0), this.getPaddleState(1), this.inputVertical);
             }
 
-            this.move(MoverType.SELF, this.getDeltaMovement());
+            Vec3 deltaMovement = this.getDeltaMovement();
+            if (deltaMovement != Vec3.ZERO && deltaMovement.lengthSqr() > 0.0D) {
+                this.moveSubStepped(deltaMovement);
+            }
+
+            if (predicting) {
+                this.sendControl(sequence);
+                this.recordPrediction(sequence);
+            } else {
+                this.sendCorrection();
+            }
         } else {
             this.setDeltaMovement(Vec3.ZERO);
         }
 
         for (int i = 0; i <= 1; ++i) {
             if (this.getPaddleState(i)) {
-                if (!this.isSilent() && (double) (this.paddlePositions[i] % ((float) Math.PI * 2F)) <= (double) ((float) Math.PI / 4F) && ((double) this.paddlePositions[i] + (double) ((float) Math.PI / 8F)) % (double) ((float) Math.PI * 2F) >= (double) ((float) Math.PI / 4F)) {
-                    SoundEvent soundevent = this.getPaddleSound();
-                    if (soundevent != null) {
-                        Vec3 vector3d = this.getViewVector(1.0F);
-                        double d0 = i == 1 ? -vector3d.z : vector3d.z;
-                        double d1 = i == 1 ? vector3d.x : -vector3d.x;
-                        this.level.playSound(null, this.getX() + d0, this.getY(), this.getZ() + d1, soundevent, this.getSoundSource(), 1.0F, 0.8F + 0.4F * this.random.nextFloat());
-                    }
-                }
-
                 this.paddlePositions[i] = (float) ((double) this.paddlePositions[i] + (double) ((float) Math.PI / 8F));
             }
         }
 
+        //Checked again every second while running, in case the sound engine dropped the sound without it stopping itself
+        if (this.level.isClientSide && (!this.engineSoundPlaying || this.tickCount % 20 == 0) && !this.isSilent() &&
+                this.isEngineRunning()) {
+            SoundEvent soundEvent = this.getPaddleSound();
+            if (soundEvent != null) {
+                this.engineSoundPlaying = DistExecutor.unsafeCallWhenOn(Dist.CLIENT, () -> () -> SkyShipEngineSound.play(this, soundEvent));
+            }
+        }
+
         this.checkInsideBlocks();
-        List<Entity> list = this.level.getEntities(this, this.getBoundingBox().inflate(0.2F, -0.01F, 0.2F), EntitySelector.pushableBy(this));
-        if (!list.isEmpty()) {
-            boolean flag = !this.level.isClientSide && !(this.getControllingPassenger() instanceof Player);
-
-            for (Entity entity : list) {
-                if (!entity.hasPassenger(this)) {
-                    if (flag && this.getPassengers().size() < 2 && !entity.isPassenger() &&
-                            entity.getBbWidth() < this.getBbWidth() && entity instanceof LivingEntity &&
-                            !(entity instanceof Player)) {
-                        entity.startRiding(this);
-                    } else {
-                        this.push(entity);
-                    }
+        this.tickBoardingCandidate();
+        this.pushNearbyEntities();
+
+        resetFall(this);
+        this.updateDormancy();
+        if (this.paddlesChanged || this.getX() != this.xo || this.getY() != this.yo || this.getZ() != this.zo ||
+                this.getYRot() != this.yRotO) {
+            this.ticksSinceChanged = 0;
+            this.paddlesChanged = false;
+        } else if (this.ticksSinceChanged < Integer.MAX_VALUE) {
+            ++this.ticksSinceChanged;
+        }
+    }
+
+    @Override
+    public void startSeenByPlayer(@Nonnull ServerPlayer player) {
+        super.startSeenByPlayer(player);
+        this.seenBy.add(player);
+    }
+
+    @Override
+    public void stopSeenByPlayer(@Nonnull ServerPlayer player) {
+        super.stopSeenByPlayer(player);
+        this.seenBy.remove(player);
+    }
+
+    /**
+     * The players the server's entity tracker has sent this ship to, which are the only ones sent its updates.
+     */
+    public Set<ServerPlayer> getSeenBy() {
+        return this.seenBy;
+    }
+
+    /**
+     * Ticks since the ship last moved, turned or changed its paddles, which is what players are sent updates for.
+     */
+    public int getTicksSinceChanged() {
+        return this.ticksSinceChanged;
+    }
+
+    /**
+     * Moves in up to the configured number of sub-steps, so a fast ship is checked against each block it passes
+     * through rather than only the ones at the end of its move. A collision in one step cancels the rest of the move
+     * on that axis, and the ship's delta is only slowed by the blocks it ends up in once, as it would be for one move.
+     * Each {@link #move} already applies the blocks the ship passes through at the end of its step.
+     */
+    private void moveSubStepped(Vec3 deltaMovement) {
+        if (this.moveThroughOpenAir(deltaMovement)) {
+            return;
+        }
+
+        int subSteps = Mth.clamp(Mth.ceil(deltaMovement.length() / MAX_SUB_STEP_DISTANCE), 1, SkyShipsConfig.PHYSICS_SUB_STEPS.get());
+        if (subSteps == 1) {
+            this.move(MoverType.SELF, deltaMovement);
+        } else {
+            double x = deltaMovement.x;
+            double y = deltaMovement.y;
+            double z = deltaMovement.z;
+            //The same step is moved by until a collision stops one of its axes
+            Vec3 step = this.getSubStep(x / subSteps, y / subSteps, z / subSteps);
+            for (int i = 0; i < subSteps; i++) {
+                if (i == subSteps - 1) {
+                    this.setDeltaMovement(x, y, z);
+                }
+                this.move(MoverType.SELF, step);
+
+                Vec3 afterStep = this.getDeltaMovement();
+                if (afterStep.x == 0.0D && x != 0.0D || afterStep.y == 0.0D && y != 0.0D || afterStep.z == 0.0D && z != 0.0D) {
+                    x = afterStep.x == 0.0D ? 0.0D : x;
+                    y = afterStep.y == 0.0D ? 0.0D : y;
+                    z = afterStep.z == 0.0D ? 0.0D : z;
+                    step = this.getSubStep(x / subSteps, y / subSteps, z / subSteps);
                 }
             }
         }
+    }
 
-        resetFall(this);
+    /**
+     * The step a sub-stepped move is split into, kept from move to move so a ship moving steadily reuses the same one.
+     */
+    private Vec3 getSubStep(double x, double y, double z) {
+        if (x != this.subStep.x || y != this.subStep.y || z != this.subStep.z) {
+            this.subStep = new Vec3(x, y, z);
+        }
+        return this.subStep;
+    }
+
+    /**
+     * Moves without gathering block collisions when the whole move is above the terrain, which is where ships spend
+     * most of their time. Anything that needs the full move, like fire or being stuck in a block, falls back to it.
+     * The swept box is only worked out as bounds, and entities are looked for in the level's shared buckets, so the
+     * check allocates nothing.
+     */
+    private boolean moveThroughOpenAir(Vec3 deltaMovement) {
+        if (this.noPhysics || this.isOnFire() || this.stuckSpeedMultiplier.lengthSqr() > 1.0E-7D) {
+            return false;
+        }
+
+        AABB boundingBox = this.getBoundingBox();
+        double minX = boundingBox.minX + Math.min(deltaMovement.x, 0.0D);
+        double minY = boundingBox.minY + Math.min(deltaMovement.y, 0.0D);
+        double minZ = boundingBox.minZ + Math.min(deltaMovement.z, 0.0D);
+        double maxX = boundingBox.maxX + Math.max(deltaMovement.x, 0.0D);
+        double maxY = boundingBox.maxY + Math.max(deltaMovement.y, 0.0D);
+        double maxZ = boundingBox.maxZ + Math.max(deltaMovement.z, 0.0D);
+        WorldBorder worldBorder = this.level.getWorldBorder();
+        if (!SkyShipEnvironment.isAboveTerrain(this.level, minX, minY, minZ, maxX, maxZ) ||
+                maxX <= worldBorder.getMinX() || minX >= worldBorder.getMaxX() ||
+                maxZ <= worldBorder.getMinZ() || minZ >= worldBorder.getMaxZ() ||
+                this.getProximity().hasCollidable(this, minX, minY, minZ, maxX, maxY, maxZ)) {
+            return false;
+        }
+
+        this.setPos(this.getX() + deltaMovement.x, this.getY() + deltaMovement.y, this.getZ() + deltaMovement.z);
+        this.horizontalCollision = false;
+        this.minorHorizontalCollision = false;
+        this.verticalCollision = false;
+        this.verticalCollisionBelow = false;
+        this.onGround = false;
+        return true;
+    }
+
+    private AABB getPushBox() {
+        if (this.getBoundingBox() != this.pushSourceBox) {
+            this.pushSourceBox = this.getBoundingBox();
+            this.pushBox = this.pushSourceBox.inflate(0.2F, -0.01F, 0.2F);
+        }
+        return this.pushBox;
+    }
+
+    private void pushNearbyEntities() {
+        this.getProximity().forEach(this, this.getPushBox(), this.getPushable(), this.pushOrBoard);
+    }
+
+    private void pushOrBoard(Entity entity) {
+        if (!entity.hasPassenger(this)) {
+            if (this.canPickUp(entity)) {
+                entity.startRiding(this);
+            } else {
+                this.push(entity);
+            }
+        }
+    }
+
+    /**
+     * The entities this ship pushes, only built again when the ship's team or its collision rule changes, which is all
+     * vanilla's predicate takes from the ship.
+     */
+    private Predicate<Entity> getPushable() {
+        Team team = this.getTeam();
+        Team.CollisionRule rule = team != null ? team.getCollisionRule() : Team.CollisionRule.ALWAYS;
+        if (this.pushable == null || team != this.pushableTeam || rule != this.pushableRule) {
+            this.pushable = EntitySelector.pushableBy(this);
+            this.pushableTeam = team;
+            this.pushableRule = rule;
+        }
+        return this.pushable;
+    }
+
+    private void tickBoardingCandidate() {
+        if (this.boardingCandidate != null) {
+            Entity candidate = this.boardingCandidate;
+            this.boardingCandidate = null;
+            if (candidate.isAlive() && this.canPickUp(candidate) && candidate.getBoundingBox().intersects(this.getPushBox())) {
+                candidate.startRiding(this);
+            }
+        }
+    }
+
+    private boolean canPickUp(Entity entity) {
+        return !this.level.isClientSide && !(this.getControllingPassenger() instanceof Player) &&
+                this.getPassengers().size() < 2 && !entity.isPassenger() && !entity.hasPassenger(this) &&
+                entity.getBbWidth() < this.getBbWidth() && entity instanceof LivingEntity &&
+                !(entity instanceof Player);
+    }
+
+    private void updateDormancy() {
+        if (!this.level.isClientSide && !this.isVehicle() && !this.isPassenger() && this.status == this.oldStatus &&
+                (this.status == SkyShipStatus.ON_LAND || this.status == SkyShipStatus.IN_AIR && this.isNoGravity()) &&
+                this.getHurtTime() <= 0 && this.getDamage() <= 0.0F && !this.isOnFire() &&
+                this.getDeltaMovement().lengthSqr() < RESTING_MOVEMENT) {
+            if (++this.restingTicks >= TICKS_TO_DORMANT) {
+                this.setDeltaMovement(Vec3.ZERO);
+                this.dormant = true;
+            }
+        } else {
+            this.restingTicks = 0;
+        }
+    }
+
+    public void wakeUp() {
+        this.dormant = false;
+        this.restingTicks = 0;
+    }
+
+    public boolean isDormant() {
+        return this.dormant;
     }
 
     private void resetFall(Entity entity) {
         entity.resetFallDistance();
-        for (Entity passenger : entity.getPassengers()) {
-            passenger.resetFallDistance();
+        List<Entity> passengers = entity.getPassengers();
+        for (int i = 0; i < passengers.size(); i++) {
+            passengers.get(i).resetFallDistance();
         }
     }
 
     private void floatBoat() {
-        int controlOffset = Integer.compare(this.entityData.get(DATA_ID_VERTICAL), 0);
-        double verticalAddition = controlOffset != 0 ? controlOffset * 0.015D : this.isNoGravity() ? 0.0D : (double) -0.0004F;
-        double d2 = 0.0D;
-        float invFriction = 0.05F;
-        if (this.oldStatus == SkyShipStatus.IN_AIR && this.status != SkyShipStatus.IN_AIR && this.status != SkyShipStatus.ON_LAND) {
+        if (isSettlingIntoFluid(this.oldStatus, this.status)) {
             this.waterLevel = this.getY(1.0D);
             this.setPos(this.getX(), (double) (this.getWaterLevelAbove() - this.getBbHeight()) + 0.101D, this.getZ());
-            this.setDeltaMovement(this.getDeltaMovement().multiply(1.0D, 0.0D, 1.0D));
+            Vec3 deltaMovement = this.getDeltaMovement();
+            this.setDeltaMovement(deltaMovement.x, 0.0D, deltaMovement.z);
             this.lastYd = 0.0D;
             this.status = SkyShipStatus.IN_FLUID;
         } else {
-            if (this.status == SkyShipStatus.IN_FLUID) {
-                d2 = (this.waterLevel - this.getY()) / (double) this.getBbHeight();
-                invFriction = 0.45F;
-            } else if (this.status == SkyShipStatus.UNDER_FLOWING_FLUID) {
-                verticalAddition = -7.0E-4D;
-                invFriction = 0.45F;
-            } else if (this.status == SkyShipStatus.UNDER_FLUID) {
-                d2 = 0.01F;
-                invFriction = 0.25F;
-            } else if (this.status == SkyShipStatus.IN_AIR) {
-                invFriction = 0.7F;
-            } else if (this.status == SkyShipStatus.ON_LAND) {
-                invFriction = this.landFriction / 2;
-                if (this.getControllingPassenger() instanceof Player) {
-                    this.landFriction /= 2.0F;
-                }
+            float invFriction = this.getFloatFriction(this.status);
+            if (this.status == SkyShipStatus.ON_LAND && this.getControllingPassenger() instanceof Player) {
+                this.landFriction /= 2.0F;
             }
 
-            Vec3 vector3d = this.getDeltaMovement();
-            this.setDeltaMovement(vector3d.x * (double) invFriction, vector3d.y + verticalAddition, vector3d.z * (double) invFriction);
-            this.deltaRotation *= invFriction;
-            if (d2 > 0.0D) {
-                Vec3 vector3d1 = this.getDeltaMovement();
-                this.setDeltaMovement(vector3d1.x, (vector3d1.y + d2 * 0.06153846016296973D) * 0.75D, vector3d1.z);
-            }
+            Vec3 deltaMovement = this.getDeltaMovement();
+            this.applyFloat(
+                    deltaMovement.x * (double) invFriction,
+                    floatVertical(deltaMovement.y, this.getFloatLift(this.status), this.getFloatBuoyancy(this.status)),
+                    deltaMovement.z * (double) invFriction,
+                    invFriction
+            );
         }
 
     }
 
-    public float getWaterLevelAbove() {
-        AABB axisalignedbb = this.getBoundingBox();
-        int i = Mth.floor(axisalignedbb.minX);
-        int j = Mth.ceil(axisalignedbb.maxX);
-        int k = Mth.floor(axisalignedbb.maxY);
-        int l = Mth.ceil(axisalignedbb.maxY - this.lastYd);
-        int i1 = Mth.floor(axisalignedbb.minZ);
-        int j1 = Mth.ceil(axisalignedbb.maxZ);
-        BlockPos.MutableBlockPos blockpos$mutable = new BlockPos.MutableBlockPos();
-
-        label39:
-        for (int k1 = k; k1 < l; ++k1) {
-            float f = 0.0F;
+    public static boolean isSettlingIntoFluid(SkyShipStatus oldStatus, SkyShipStatus status) {
+        return oldStatus == SkyShipStatus.IN_AIR && status != SkyShipStatus.IN_AIR && status != SkyShipStatus.ON_LAND;
+    }
 
-            for (int l1 = i; l1 < j; ++l1) {
-                for (int i2 = i1; i2 < j1; ++i2) {
-                    blockpos$mutable.set(l1, k1, i2);
-                    FluidState fluidstate = this.level.getFluidState(blockpos$mutable);
-                    if (fluidstate.is(FluidTags.WATER)) {
-                        f = Math.max(f, fluidstate.getHeight(this.level, blockpos$mutable));
-                    }
+    public static double floatVertical(double y, double lift, double buoyancy) {
+        y += lift;
+        if (buoyancy > 0.0D) {
+            y = (y + buoyancy * 0.06153846016296973D) * 0.75D;
+        }
+        return y;
+    }
 
-                    if (f >= 1.0F) {
-                        continue label39;
-                    }
-                }
-            }
+    public float getFloatFriction(SkyShipStatus status) {
+        if (status == SkyShipStatus.IN_FLUID || status == SkyShipStatus.UNDER_FLOWING_FLUID) {
+            return 0.45F;
+        } else if (status == SkyShipStatus.UNDER_FLUID) {
+            return 0.25F;
+        } else if (status == SkyShipStatus.IN_AIR) {
+            return 0.7F;
+        } else if (status == SkyShipStatus.ON_LAND) {
+            return this.landFriction / 2;
+        } else {
+            return 0.05F;
+        }
+    }
 
-            if (f < 1.0F) {
-                return (float) blockpos$mutable.getY() + f;
-            }
+    public double getFloatLift(SkyShipStatus status) {
+        if (status == SkyShipStatus.UNDER_FLOWING_FLUID) {
+            return -7.0E-4D;
+        }
+
+        //Only a piloting player can hold vertical input, anything else has its paddles reset before floating
+        int controlOffset = this.getControllingPassenger() instanceof Player ? Integer.compare(this.paddleVertical, 0) : 0;
+        return controlOffset != 0 ? controlOffset * 0.015D : this.isNoGravity() ? 0.0D : (double) -0.0004F;
+    }
+
+    public double getFloatBuoyancy(SkyShipStatus status) {
+        if (status == SkyShipStatus.IN_FLUID) {
+            return (this.waterLevel - this.getY()) / (double) this.getBbHeight();
+        } else if (status == SkyShipStatus.UNDER_FLUID) {
+            return 0.01F;
+        } else {
+            return 0.0D;
+        }
+    }
+
+    private void applyFloat(double x, double y, double z, float invFriction) {
+        this.deltaRotation *= invFriction;
+        //A ship at rest keeps its current delta rather than allocating an identical one
+        Vec3 deltaMovement = this.getDeltaMovement();
+        if (x != deltaMovement.x || y != deltaMovement.y || z != deltaMovement.z) {
+            this.setDeltaMovement(x, y, z);
         }
+    }
 
-        return (float) (l + 1);
+    /**
+     * Samples this ship's status ahead of its tick, for {@link SkyShipSimulation} to batch the level's ships.
+     */
+    public void sampleStatus() {
+        this.sampledStatus = this.getStatus();
     }
 
+    /**
+     * Takes the environment's latest status, whether cached or derived and finished in parallel, as this ship's sampled status.
+     */
+    public void sampleDerivedStatus() {
+        this.sampledStatus = this.applyEnvironmentStatus(this.environment.getStatus());
+    }
+
+    @Nullable
+    public SkyShipStatus getSampledStatus() {
+        return this.sampledStatus;
+    }
+
+    /**
+     * Whether {@link SkyShipSimulation} can float this ship for the coming tick, which is the case for awake ships the
+     * server moves itself that aren't about to settle into a fluid.
+     */
+    public boolean canBatchFloat() {
+        return this.sampledStatus != null && !this.dormant && !this.level.isClientSide &&
+                this.isControlledByLocalInstance() && !isSettlingIntoFluid(this.status, this.sampledStatus);
+    }
+
+    /**
+     * Holds the float {@link SkyShipSimulation} worked out for the ship's current delta, to be applied when the ship
+     * ticks at the point it would float itself.
+     */
+    public void setBatchedFloat(double x, double y, double z, float invFriction) {
+        this.floatBatchedFrom = this.getDeltaMovement();
+        this.floatBatchedX = x;
+        this.floatBatchedY = y;
+        this.floatBatchedZ = z;
+        this.floatBatchedFriction = invFriction;
+    }
+
+    public int getSimulationIndex() {
+        return this.simulationIndex;
+    }
+
+    public void setSimulationIndex(int simulationIndex) {
+        this.simulationIndex = simulationIndex;
+    }
+
+    public float getWaterLevelAbove() {
+        return this.environment.getWaterLevelAbove(this.level, this.getBoundingBox(), this.lastYd);
+    }
 
     protected SkyShipStatus getStatus() {
-        SkyShipStatus status = this.isUnderFluid();
-        if (status != null) {
-            this.waterLevel = this.getBoundingBox().maxY;
-            return status;
-        } else if (this.checkInWater()) {
-            return SkyShipStatus.IN_FLUID;
-        } else {
-            float f = this.getGroundFriction();
-            if (f > 0.0F) {
-                this.landFriction = f;
-                return SkyShipStatus.ON_LAND;
-            } else {
-                return SkyShipStatus.IN_AIR;
-            }
+        return this.applyEnvironmentStatus(this.environment.sample(this.level, this, this.getBoundingBox()));
+    }
+
+    private SkyShipStatus applyEnvironmentStatus(SkyShipStatus status) {
+        this.waterLevel = this.environment.getWaterLevel();
+        if (status == SkyShipStatus.ON_LAND) {
+            this.landFriction = this.environment.getGroundFriction();
         }
+        this.getTracker().track(this);
+        return status;
     }
 
-    public float getGroundFriction() {
-        AABB boundingBox = this.getBoundingBox();
-        AABB groundBoundingBox = new AABB(boundingBox.minX, boundingBox.minY - 0.001D, boundingBox.minZ, boundingBox.maxX, boundingBox.minY, boundingBox.maxZ);
-        int i = Mth.floor(groundBoundingBox.minX) - 1;
-        int j = Mth.ceil(groundBoundingBox.maxX) + 1;
-        int k = Mth.floor(groundBoundingBox.minY) - 1;
-        int l = Mth.ceil(groundBoundingBox.maxY) + 1;
-        int i1 = Mth.floor(groundBoundingBox.minZ) - 1;
-        int j1 = Mth.ceil(groundBoundingBox.maxZ) + 1;
-        VoxelShape voxelshape = Shapes.create(groundBoundingBox);
-        float f = 0.0F;
-        int k1 = 0;
-        BlockPos.MutableBlockPos checkPosition = new BlockPos.MutableBlockPos();
-
-        for (int l1 = i; l1 < j; ++l1) {
-            for (int i2 = i1; i2 < j1; ++i2) {
-                int j2 = (l1 != i && l1 != j - 1 ? 0 : 1) + (i2 != i1 && i2 != j1 - 1 ? 0 : 1);
-                if (j2 != 2) {
-                    for (int k2 = k; k2 < l; ++k2) {
-                        if (j2 <= 0 || k2 != k && k2 != l - 1) {
-                            checkPosition.set(l1, k2, i2);
-                            BlockState blockstate = this.level.getBlockState(checkPosition);
-                            if (!(blockstate.getBlock() instanceof WaterlilyBlock) &&
-                                    Shapes.joinIsNotEmpty(blockstate.getCollisionShape(this.level, checkPosition).move(l1, k2, i2), voxelshape, BooleanOp.AND)) {
-                                f += blockstate.getFriction(this.level, checkPosition, this);
-                                ++k1;
-                            }
-                        }
-                    }
-                }
-            }
+    private SkyShipTracker getTracker() {
+        if (this.tracker == null) {
+            this.tracker = SkyShipTracker.get(this.level);
         }
+        return this.tracker;
+    }
 
-        return f / (float) k1;
-    }
-
-    private boolean checkInWater() {
-        AABB axisalignedbb = this.getBoundingBox();
-        int i = Mth.floor(axisalignedbb.minX);
-        int j = Mth.ceil(axisalignedbb.maxX);
-        int k = Mth.floor(axisalignedbb.minY);
-        int l = Mth.ceil(axisalignedbb.minY + 0.001D);
-        int i1 = Mth.floor(axisalignedbb.minZ);
-        int j1 = Mth.ceil(axisalignedbb.maxZ);
-        boolean flag = false;
-        this.waterLevel = Double.MIN_VALUE;
-        BlockPos.MutableBlockPos mutableBlockPos = new BlockPos.MutableBlockPos();
-
-        for (int k1 = i; k1 < j; ++k1) {
-            for (int l1 = k; l1 < l; ++l1) {
-                for (int i2 = i1; i2 < j1; ++i2) {
-                    mutableBlockPos.set(k1, l1, i2);
-                    FluidState fluidstate = this.level.getFluidState(mutableBlockPos);
-                    if (fluidstate.is(FluidTags.WATER)) {
-                        float f = (float) l1 + fluidstate.getHeight(this.level, mutableBlockPos);
-                        this.waterLevel = Math.max(f, this.waterLevel);
-                        flag |= axisalignedbb.minY < (double) f;
-                    }
-                }
-            }
+    private SkyShipProximity getProximity() {
+        if (this.proximity == null) {
+            this.proximity = SkyShipProximity.get(this.level);
         }
+        return this.proximity;
+    }
 
-        return flag;
+    public SkyShipEnvironment getEnvironment() {
+        return this.environment;
     }
 
-    @Nullable
-    private SkyShipStatus isUnderFluid() {
-        AABB axisalignedbb = this.getBoundingBox();
-        double d0 = axisalignedbb.maxY + 0.001D;
-        int i = Mth.floor(axisalignedbb.minX);
-        int j = Mth.ceil(axisalignedbb.maxX);
-        int k = Mth.floor(axisalignedbb.maxY);
-        int l = Mth.ceil(d0);
-        int i1 = Mth.floor(axisalignedbb.minZ);
-        int j1 = Mth.ceil(axisalignedbb.maxZ);
-        boolean flag = false;
-        BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
-
-        for (int k1 = i; k1 < j; ++k1) {
-            for (int l1 = k; l1 < l; ++l1) {
-                for (int i2 = i1; i2 < j1; ++i2) {
-                    mutablePos.set(k1, l1, i2);
-                    FluidState fluidstate = this.level.getFluidState(mutablePos);
-                    if (d0 < (double) ((float) mutablePos.getY() + fluidstate.getHeight(this.level, mutablePos))) {
-                        if (!fluidstate.isSource()) {
-                            return SkyShipStatus.UNDER_FLOWING_FLUID;
-                        }
+    public void onNearbyBlockChanged(BlockPos pos) {
+        if (this.environment.isWatching(pos)) {
+            this.environment.invalidate();
+            this.wakeUp();
+        }
+    }
 
-                        flag = true;
-                    }
-                }
-            }
+    @Override
+    public void onAddedToWorld() {
+        super.onAddedToWorld();
+        if (this.level instanceof ServerLevel serverLevel) {
+            SkyShipSimulation.get(serverLevel).add(this);
         }
+    }
 
-        return flag ? SkyShipStatus.UNDER_FLUID : null;
+    @Override
+    public void onRemovedFromWorld() {
+        super.onRemovedFromWorld();
+        //Ships are also removed as their level closes, after its tracker and simulation are gone, which mustn't bring them back
+        SkyShipTracker tracker = this.tracker != null ? this.tracker : SkyShipTracker.getIfPresent(this.level);
+        if (tracker != null) {
+            tracker.untrack(this);
+        }
+        if (this.level instanceof ServerLevel serverLevel) {
+            SkyShipSimulation simulation = SkyShipSimulation.getIfPresent(serverLevel);
+            if (simulation != null) {
+                simulation.remove(this);
+            }
+        }
     }
 
+    /**
+     * The looping sound clients play while the ship is paddling or climbing, or null for a silent ship.
+     */
+    @Nullable
     protected SoundEvent getPaddleSound() {
         return null;
     }
 
-    private void tickLerp() {
-        if (this.isControlledByLocalInstance()) {
-            this.lerpSteps = 0;
-            this.syncPacketPositionCodec(this.getX(), this.getY(), this.getZ());
-        }
+    public boolean isEngineRunning() {
+        return this.getPaddleState(0) || this.getPaddleState(1) || this.getPaddleVertical() != 0;
+    }
+
+    public int getPaddleVertical() {
+        return this.getControllingPassenger() != null ? Integer.compare(this.paddleVertical, 0) : 0;
+    }
+
+    public void setEngineSoundPlaying(boolean engineSoundPlaying) {
+        this.engineSoundPlaying = engineSoundPlaying;
+    }
 
-        if (this.lerpSteps > 0) {
-            double d0 = this.getX() + (this.lerpX - this.getX()) / (double) this.lerpSteps;
-            double d1 = this.getY() + (this.lerpY - this.getY()) / (double) this.lerpSteps;
-            double d2 = this.getZ() + (this.lerpZ - this.getZ()) / (double) this.lerpSteps;
-            double d3 = Mth.wrapDegrees(this.lerpYRot - (double) this.getYRot());
-            this.setYRot((float) ((double) this.getYRot() + d3 / (double) this.lerpSteps));
-            this.setXRot((float) ((double) this.getXRot() + (this.lerpXRot - (double) this.getYRot()) / (double) this.lerpSteps));
-            --this.lerpSteps;
-            this.setPos(d0, d1, d2);
-            this.setRot(this.getYRot(), this.getXRot());
+    private void tickLerp() {
+        if (this.isPredicting()) {
+            this.interpolation.clear();
+        } else if (this.isControlledByLocalInstance()) {
+            if (this.getX() != this.syncedX || this.getY() != this.syncedY || this.getZ() != this.syncedZ) {
+                this.syncedX = this.getX();
+                this.syncedY = this.getY();
+                this.syncedZ = this.getZ();
+                this.syncPacketPositionCodec(this.syncedX, this.syncedY, this.syncedZ);
+            }
+        } else if (this.interpolation.sample(Util.getMillis())) {
+            this.setPos(this.interpolation.getX(), this.interpolation.getY(), this.interpolation.getZ());
+            this.setRot(this.interpolation.getYRot(), this.interpolation.getXRot());
         }
     }
 
@@ -578,11 +977,11 @@ public class SkyShip extends Entity {
                 f -= 0.05F;
             }
 
-            Vec3 vector3d = this.getDeltaMovement();
-            this.setDeltaMovement(new Vec3(
-                    vector3d.x + Mth.sin(-this.getYRot() * ((float) Math.PI / 180F)) * f,
+            Vec3 deltaMovement = this.getDeltaMovement();
+            this.setDeltaMovement(
+                    deltaMovement.x + Mth.sin(-this.getYRot() * ((float) Math.PI / 180F)) * f,
                     Integer.compare(this.inputVertical, 0) * 0.15F,
-                    vector3d.z + Mth.cos(this.getYRot() * ((float) Math.PI / 180F)) * f)
+                    deltaMovement.z + Mth.cos(this.getYRot() * ((float) Math.PI / 180F)) * f
             );
             this.setPaddleState(this.inputRight && !this.inputLeft || this.inputUp, this.inputLeft && !this.inputRight || this.inputUp, inputVertical);
         }
@@ -604,8 +1003,11 @@ public class SkyShip extends Entity {
                 }
             }
 
-            Vec3 vector3d = (new Vec3(f, 0.0D, 0.0D)).yRot(-this.getYRot() * ((float) Math.PI / 180F) - ((float) Math.PI / 2F));
-            pPassenger.setPos(this.getX() + vector3d.x, this.getY() + (double) f1, this.getZ() + vector3d.z);
+            //Same as rotating (f, 0, 0) with Vec3#yRot, without the intermediate vectors
+            float angle = -this.getYRot() * ((float) Math.PI / 180F) - ((float) Math.PI / 2F);
+            double offsetX = (double) f * (double) Mth.cos(angle);
+            double offsetZ = -((double) f * (double) Mth.sin(angle));
+            pPassenger.setPos(this.getX() + offsetX, this.getY() + (double) f1, this.getZ() + offsetZ);
             pPassenger.setYRot(pPassenger.getYRot() + this.deltaRotation);
             pPassenger.setYHeadRot(pPassenger.getYHeadRot() + this.deltaRotation);
             this.clampRotation(pPassenger);
@@ -633,9 +1035,12 @@ public class SkyShip extends Entity {
     }
 
     public void setPaddleState(boolean pLeft, boolean pRight, int vertical) {
-        this.entityData.set(DATA_ID_PADDLE_LEFT, pLeft);
-        this.entityData.set(DATA_ID_PADDLE_RIGHT, pRight);
-        this.entityData.set(DATA_ID_VERTICAL, vertical);
+        if (pLeft != this.paddleLeft || pRight != this.paddleRight || vertical != this.paddleVertical) {
+            this.paddleLeft = pLeft;
+            this.paddleRight = pRight;
+            this.paddleVertical = vertical;
+            this.paddlesChanged = true;
+        }
     }
 
     @SuppressWarnings("unused")
@@ -660,20 +1065,65 @@ public class SkyShip extends Entity {
         return NetworkHooks.getEntitySpawningPacket(this);
     }
 
+    /**
+     * Sends everything a client needs to show the ship along with it spawning, rather than in follow up packets.
+     */
+    @Override
+    public void writeSpawnData(FriendlyByteBuf buffer) {
+        buffer.writeByte(this.getPaddleControl());
+        buffer.writeBoolean(this.getHurtDir() < 0);
+        buffer.writeVarInt(Math.max(this.getHurtTime(), 0));
+        buffer.writeFloat(this.getDamage());
+    }
+
+    @Override
+    public void readSpawnData(FriendlyByteBuf additionalData) {
+        this.setPaddleControl(additionalData.readByte());
+        this.setHurtDir(additionalData.readBoolean() ? -1 : 1);
+        this.setHurtTime(additionalData.readVarInt());
+        this.setDamage(additionalData.readFloat());
+    }
+
     @Override
     protected void addPassenger(@Nonnull Entity passenger) {
         super.addPassenger(passenger);
+        this.wakeUp();
         if (passenger instanceof Player && ((Player) passenger).isLocalPlayer()) {
             passenger.yRotO = this.getYRot();
             passenger.setYRot(this.getYRot());
             passenger.setYHeadRot(this.getYRot());
         }
-        if (this.isControlledByLocalInstance() && this.lerpSteps > 0) {
-            this.lerpSteps = 0;
-            this.absMoveTo(this.lerpX, this.lerpY, this.lerpZ, (float) this.lerpYRot, (float) this.lerpXRot);
+        if (passenger instanceof Player player) {
+            this.resetControlSession();
+            if (!this.level.isClientSide) {
+                SkyShipControlInputs.clear(player);
+            }
+        }
+        if (this.isPredicting() && this.interpolation.sampleNewest()) {
+            this.interpolation.clear();
+            this.absMoveTo(this.interpolation.getX(), this.interpolation.getY(), this.interpolation.getZ(),
+                    this.interpolation.getYRot(), this.interpolation.getXRot());
+        }
+    }
+
+    @Override
+    protected void removePassenger(@Nonnull Entity passenger) {
+        super.removePassenger(passenger);
+        if (passenger instanceof Player) {
+            this.resetControlSession();
         }
     }
 
+    /**
+     * Starts control and prediction over for a new pilot, so nothing sent or recorded for the last one carries over.
+     */
+    private void resetControlSession() {
+        this.sentControl = -1;
+        this.ticksSinceControlSent = 0;
+        this.reportedControl = null;
+        this.prediction.reset();
+    }
+
     @Override
     protected boolean canAddPassenger(@Nonnull Entity pPassenger) {
         return this.getPassengers().size() < 2;
@@ -685,6 +1135,113 @@ public class SkyShip extends Entity {
         return list.isEmpty() ? null : list.get(0);
     }
 
+    private byte getControl() {
+        return UpdateSkyShipControlPacket.pack(this.inputLeft, this.inputRight, this.inputUp, this.inputDown, this.inputVertical);
+    }
+
+    /**
+     * Sends the pilot's control to the server when it changes, and every {@link #CONTROL_HEARTBEAT_TICKS} otherwise,
+     * along with where the ship was predicted to end the tick. The server holds onto the last control it was sent
+     * until then, and checks its own state against the prediction for the tick it applies each one on.
+     */
+    private void sendControl(int sequence) {
+        byte control = this.getControl();
+        if (control != this.sentControl || ++this.ticksSinceControlSent >= CONTROL_HEARTBEAT_TICKS) {
+            SkyShips.networkHandler.updateSkyShipControl(control, sequence, this.getX(), this.getY(), this.getZ(), this.getYRot());
+            this.sentControl = control;
+            this.ticksSinceControlSent = 0;
+        }
+    }
+
+    private void recordPrediction(int sequence) {
+        Vec3 deltaMovement = this.getDeltaMovement();
+        this.prediction.record(sequence, this.getControl(), this.status, this.oldStatus, this.getX(), this.getY(),
+                this.getZ(), this.getYRot(), deltaMovement.x, deltaMovement.y, deltaMovement.z, this.deltaRotation);
+    }
+
+    /**
+     * Sends the pilot the server's state for the tick a control of theirs was applied on, only when it's drifted from
+     * what their client reported predicting for that tick. Anything the client can't predict, like a hit or a push,
+     * is caught by the next report at most {@link #CONTROL_HEARTBEAT_TICKS} later.
+     */
+    private void sendCorrection() {
+        UpdateSkyShipControlPacket reported = this.reportedControl;
+        this.reportedControl = null;
+        if (reported != null && this.getControllingPassenger() instanceof ServerPlayer player &&
+                !SkyShipPrediction.matches(this.getX(), this.getY(), this.getZ(), this.getYRot(), reported.getX(),
+                        reported.getY(), reported.getZ(), reported.getYRot())) {
+            Vec3 deltaMovement = this.getDeltaMovement();
+            SkyShips.networkHandler.correctSkyShip(player, new SkyShipCorrectionPacket(
+                    this.getId(),
+                    reported.getSequence(),
+                    this.getX(),
+                    this.getY(),
+                    this.getZ(),
+                    this.getYRot(),
+                    deltaMovement.x,
+                    deltaMovement.y,
+                    deltaMovement.z,
+                    this.deltaRotation
+            ));
+        }
+    }
+
+    /**
+     * Checks the server's state against what was predicted for the same tick. When they differ the ship is put back
+     * to the server's state, in the status it was predicted to be in then, and the pilot's control since is replayed
+     * on top of it without applying the blocks it passes through again.
+     */
+    public void reconcile(SkyShipCorrectionPacket correction) {
+        if (!this.isPredicting()) {
+            return;
+        }
+
+        int sequence = correction.getSequence();
+        boolean recorded = this.prediction.has(sequence);
+        if (recorded && this.prediction.matches(correction)) {
+            return;
+        }
+
+        this.setPos(correction.getX(), correction.getY(), correction.getZ());
+        this.setYRot(correction.getYRot());
+        this.setDeltaMovement(correction.getDeltaX(), correction.getDeltaY(), correction.getDeltaZ());
+        this.deltaRotation = correction.getDeltaRotation();
+
+        if (recorded) {
+            byte control = this.getControl();
+            this.status = this.prediction.getStatus(sequence);
+            this.oldStatus = this.prediction.getOldStatus(sequence);
+            this.replaying = true;
+            try {
+                for (int replayed = sequence + 1; replayed <= this.prediction.getSequence(); replayed++) {
+                    this.setInput(this.prediction.getControl(replayed));
+                    this.oldStatus = this.status;
+                    this.status = this.getStatus();
+                    this.floatBoat();
+                    this.controlBoat();
+                    Vec3 deltaMovement = this.getDeltaMovement();
+                    if (deltaMovement.lengthSqr() > 0.0D) {
+                        this.moveSubStepped(deltaMovement);
+                    }
+                    this.recordPrediction(replayed);
+                }
+            } finally {
+                this.replaying = false;
+            }
+            this.setInput(control);
+        }
+    }
+
+    private void setInput(byte control) {
+        this.setInput(
+                UpdateSkyShipControlPacket.isLeft(control),
+                UpdateSkyShipControlPacket.isRight(control),
+                UpdateSkyShipControlPacket.isUp(control),
+                UpdateSkyShipControlPacket.isDown(control),
+                UpdateSkyShipControlPacket.getVertical(control)
+        );
+    }
+
     public void setInput(boolean pLeftInputDown, boolean pRightInputDown, boolean pForwardInputDown, boolean pBackInputDown, int vertical) {
         this.inputLeft = pLeftInputDown;
         this.inputRight = pRightInputDown;
@@ -694,31 +1251,41 @@ public class SkyShip extends Entity {
     }
 
     public boolean getPaddleState(int pSide) {
-        return this.entityData.get(pSide == 0 ? DATA_ID_PADDLE_LEFT : DATA_ID_PADDLE_RIGHT) && this.getControllingPassenger() != null;
+        return (pSide == 0 ? this.paddleLeft : this.paddleRight) && this.getControllingPassenger() != null;
+    }
+
+    /**
+     * Starts the hit wobble from a {@link SkyShipHitPacket}, which the client then lets die down by itself the same way
+     * the server does.
+     */
+    public void handleHit(int hurtDir, float damage) {
+        this.setHurtDir(hurtDir);
+        this.setHurtTime(10);
+        this.setDamage(damage);
     }
 
     public void setDamage(float pDamageTaken) {
-        this.entityData.set(DATA_ID_DAMAGE, pDamageTaken);
+        this.damage = pDamageTaken;
     }
 
     public float getDamage() {
-        return this.entityData.get(DATA_ID_DAMAGE);
+        return this.damage;
     }
 
     public void setHurtTime(int pTimeSinceHit) {
-        this.entityData.set(DATA_ID_HURT, pTimeSinceHit);
+        this.hurtTime = pTimeSinceHit;
     }
 
     public int getHurtTime() {
-        return this.entityData.get(DATA_ID_HURT);
+        return this.hurtTime;
     }
 
     public void setHurtDir(int pForwardDirection) {
-        this.entityData.set(DATA_ID_HURT_DIR, pForwardDirection);
+        this.hurtDir = pForwardDirection;
     }
 
     public int getHurtDir() {
-        return this.entityData.get(DATA_ID_HURT_DIR);
+        return this.hurtDir;
     }
 
     //Pulled from AbstractMinecart
@@ -0,0 +1,112 @@
+package xyz.brassgoggledcoders.skyships.entity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.material.Fluids;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Arrays;
+
+/**
+ * A read-only view of the loaded chunks under a ship, captured on the server thread so blocks can be read from other
+ * threads. Nothing here loads or generates chunks, or creates block entities, so reading it is safe for as long as the
+ * server thread is waiting on those reads and isn't changing any blocks itself.
+ */
+@ParametersAreNonnullByDefault
+public class SkyShipChunkSnapshot implements BlockGetter {
+    private LevelChunk[] chunks = new LevelChunk[4];
+    private int minChunkX;
+    private int minChunkZ;
+    private int sizeX;
+    private int sizeZ;
+    private int minBuildHeight;
+    private int height;
+
+    /**
+     * Captures the chunks from {@code minChunkX, minChunkZ} to {@code maxChunkX, maxChunkZ} inclusive, returning false
+     * if any of them isn't loaded.
+     */
+    public boolean capture(Level level, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.sizeX = maxChunkX - minChunkX + 1;
+        this.sizeZ = maxChunkZ - minChunkZ + 1;
+        this.minBuildHeight = level.getMinBuildHeight();
+        this.height = level.getHeight();
+
+        int size = this.sizeX * this.sizeZ;
+        if (this.chunks.length < size) {
+            this.chunks = new LevelChunk[size];
+        }
+
+        for (int chunkZ = 0; chunkZ < this.sizeZ; ++chunkZ) {
+            for (int chunkX = 0; chunkX < this.sizeX; ++chunkX) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(minChunkX + chunkX, minChunkZ + chunkZ);
+                if (chunk == null) {
+                    this.release();
+                    return false;
+                }
+                this.chunks[chunkZ * this.sizeX + chunkX] = chunk;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Drops the captured chunks, so they aren't kept from unloading while the ship isn't being sampled.
+     */
+    public void release() {
+        Arrays.fill(this.chunks, null);
+    }
+
+    @Nullable
+    private LevelChunk getChunk(BlockPos pos) {
+        int chunkX = SectionPos.blockToSectionCoord(pos.getX()) - this.minChunkX;
+        int chunkZ = SectionPos.blockToSectionCoord(pos.getZ()) - this.minChunkZ;
+        if (chunkX < 0 || chunkX >= this.sizeX || chunkZ < 0 || chunkZ >= this.sizeZ) {
+            return null;
+        }
+        return this.chunks[chunkZ * this.sizeX + chunkX];
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        LevelChunk chunk = this.getChunk(pos);
+        return chunk != null ? chunk.getBlockEntity(pos, LevelChunk.EntityCreationType.CHECK) : null;
+    }
+
+    @Nonnull
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        LevelChunk chunk = this.getChunk(pos);
+        return chunk != null ? chunk.getBlockState(pos) : Blocks.AIR.defaultBlockState();
+    }
+
+    @Nonnull
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        LevelChunk chunk = this.getChunk(pos);
+        return chunk != null ? chunk.getFluidState(pos) : Fluids.EMPTY.defaultFluidState();
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return this.minBuildHeight;
+    }
+}
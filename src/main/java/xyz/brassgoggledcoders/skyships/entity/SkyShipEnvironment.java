@@ -0,0 +1,431 @@
+package xyz.brassgoggledcoders.skyships.entity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.tags.FluidTags;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelReader;
+import net.minecraft.world.level.block.WaterlilyBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.shapes.BooleanOp;
+import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Reads the blocks around a ship's bounding box once per sample and works out the ship's status from that buffer,
+ * rather than walking the level separately for the fluid, under fluid and ground checks.
+ * <p>
+ * The buffer is kept for as long as the ship stays inside the same blocks, and the last status is reused outright
+ * while the bounding box doesn't change at all. Block updates inside the footprint call {@link #invalidate()}, and
+ * the buffer is re-read every {@link #MAX_CACHE_AGE} ticks regardless to catch changes made without a neighbor update.
+ * <p>
+ * Sampling can also be split up, for ships to be sampled in parallel. {@link #prepare(Level, Entity, AABB)} runs on the
+ * server thread and captures the chunks under the ship, then {@link #derive()} reads the blocks, fluid heights and
+ * collision shapes from those chunks and works out the status on any thread. Block friction can need the whole level,
+ * so {@link #finish(LevelReader, Entity)} works it out back on the server thread for the blocks the ship rests on.
+ */
+public class SkyShipEnvironment {
+    private static final int MAX_CACHE_AGE = 20;
+    //Room for blocks with collision taller than a block, like fences, and for the block below affecting movement
+    private static final int TERRAIN_CLEARANCE = 2;
+
+    private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+
+    private BlockState[] states = new BlockState[0];
+    private float[] fluidHeights = new float[0];
+    private long[] touching = new long[16];
+    private int touchingCount;
+    private final SkyShipChunkSnapshot chunks = new SkyShipChunkSnapshot();
+    private boolean dirty = true;
+    private boolean restate;
+    private int age;
+
+    private int minX;
+    private int minZ;
+    private int sizeX;
+    private int sizeZ;
+    private int groundMinY;
+    private int groundMaxY;
+    private int topMinY;
+    private int topMaxY;
+
+    @Nullable
+    private AABB sampledBoundingBox;
+    private SkyShipStatus status;
+    private double waterLevel;
+    private float groundFriction;
+
+    public SkyShipStatus sample(Level level, Entity entity, AABB boundingBox) {
+        if (!this.isCurrent(boundingBox)) {
+            this.update(level);
+            this.finish(level, entity);
+        }
+        return this.status;
+    }
+
+    /**
+     * Captures what {@link #derive()} needs, returning false when there is nothing to derive. That is either because
+     * the last status still holds, or because a chunk under the ship isn't loaded and it was sampled here instead.
+     */
+    public boolean prepare(Level level, Entity entity, AABB boundingBox) {
+        if (this.isCurrent(boundingBox)) {
+            return false;
+        }
+
+        int minChunkX = SectionPos.blockToSectionCoord(Mth.floor(boundingBox.minX) - 1);
+        int minChunkZ = SectionPos.blockToSectionCoord(Mth.floor(boundingBox.minZ) - 1);
+        int maxChunkX = SectionPos.blockToSectionCoord(Mth.ceil(boundingBox.maxX));
+        int maxChunkZ = SectionPos.blockToSectionCoord(Mth.ceil(boundingBox.maxZ));
+        if (!this.chunks.capture(level, minChunkX, minChunkZ, maxChunkX, maxChunkZ)) {
+            this.update(level);
+            this.finish(level, entity);
+            return false;
+        }
+        return true;
+    }
+
+    public void derive() {
+        this.update(this.chunks);
+        this.chunks.release();
+    }
+
+    /**
+     * Works out the friction of the blocks the ship rests on, which is left to the server thread as blocks may read
+     * anything in the level to decide it.
+     */
+    public void finish(LevelReader level, Entity entity) {
+        if (this.status == SkyShipStatus.ON_LAND) {
+            float friction = 0.0F;
+            for (int i = 0; i < this.touchingCount; ++i) {
+                this.mutablePos.set(this.touching[i]);
+                BlockState blockState = this.states[this.index(this.mutablePos.getX(), this.mutablePos.getY(), this.mutablePos.getZ())];
+                friction += blockState.getFriction(level, this.mutablePos, entity);
+            }
+
+            friction /= (float) this.touchingCount;
+            if (friction > 0.0F) {
+                this.groundFriction = friction;
+            } else {
+                this.status = SkyShipStatus.IN_AIR;
+            }
+        }
+    }
+
+    private boolean isCurrent(AABB boundingBox) {
+        boolean stale = this.dirty || ++this.age > MAX_CACHE_AGE;
+        if (!stale && boundingBox.equals(this.sampledBoundingBox)) {
+            return true;
+        }
+
+        this.restate = stale || !this.hasFootprint(boundingBox);
+        this.sampledBoundingBox = boundingBox;
+        return false;
+    }
+
+    private void update(BlockGetter level) {
+        if (this.restate) {
+            this.readStates(level, this.sampledBoundingBox);
+        }
+        this.status = this.findStatus(level, this.sampledBoundingBox);
+    }
+
+    public SkyShipStatus getStatus() {
+        return this.status;
+    }
+
+    public void invalidate() {
+        this.dirty = true;
+    }
+
+    public boolean isWatching(BlockPos pos) {
+        return !this.dirty &&
+                pos.getX() >= this.minX - 1 && pos.getX() <= this.minX + this.sizeX &&
+                pos.getY() >= this.groundMinY - 1 && pos.getY() <= this.topMaxY &&
+                pos.getZ() >= this.minZ - 1 && pos.getZ() <= this.minZ + this.sizeZ;
+    }
+
+    public int getMinChunkX() {
+        return SectionPos.blockToSectionCoord(this.minX - 1);
+    }
+
+    public int getMaxChunkX() {
+        return SectionPos.blockToSectionCoord(this.minX + this.sizeX);
+    }
+
+    public int getMinChunkZ() {
+        return SectionPos.blockToSectionCoord(this.minZ - 1);
+    }
+
+    public int getMaxChunkZ() {
+        return SectionPos.blockToSectionCoord(this.minZ + this.sizeZ);
+    }
+
+    public float getWaterLevelAbove(Level level, AABB boundingBox, double lastYd) {
+        int fromY = Mth.floor(boundingBox.maxY);
+        int toY = Mth.ceil(boundingBox.maxY - lastYd);
+        int minX = Mth.floor(boundingBox.minX);
+        int maxX = Mth.ceil(boundingBox.maxX);
+        int minZ = Mth.floor(boundingBox.minZ);
+        int maxZ = Mth.ceil(boundingBox.maxZ);
+        boolean buffered = !this.dirty && this.hasFootprint(boundingBox);
+
+        label:
+        for (int y = fromY; y < toY; ++y) {
+            float height = 0.0F;
+            boolean layerBuffered = buffered && this.isBuffered(y);
+
+            for (int x = minX; x < maxX; ++x) {
+                for (int z = minZ; z < maxZ; ++z) {
+                    if (layerBuffered) {
+                        FluidState fluidState = this.states[this.index(x, y, z)].getFluidState();
+                        if (fluidState.is(FluidTags.WATER)) {
+                            height = Math.max(height, this.getFluidHeight(level, fluidState, x, y, z));
+                        }
+                    } else {
+                        FluidState fluidState = level.getFluidState(this.mutablePos.set(x, y, z));
+                        if (fluidState.is(FluidTags.WATER)) {
+                            height = Math.max(height, fluidState.getHeight(level, this.mutablePos));
+                        }
+                    }
+
+                    if (height >= 1.0F) {
+                        continue label;
+                    }
+                }
+            }
+
+            if (height < 1.0F) {
+                return (float) y + height;
+            }
+        }
+
+        return (float) (toY + 1);
+    }
+
+    /**
+     * Whether a box with the given bounds is clear of every block in the level, going by the highest non-air block of
+     * each column under it. Columns in chunks that aren't loaded are never treated as clear.
+     */
+    public static boolean isAboveTerrain(Level level, double boxMinX, double boxMinY, double boxMinZ, double boxMaxX, double boxMaxZ) {
+        int minX = Mth.floor(boxMinX);
+        int maxX = Mth.floor(boxMaxX);
+        int minZ = Mth.floor(boxMinZ);
+        int maxZ = Mth.floor(boxMaxZ);
+        LevelChunk chunk = null;
+
+        for (int x = minX; x <= maxX; ++x) {
+            for (int z = minZ; z <= maxZ; ++z) {
+                int chunkX = SectionPos.blockToSectionCoord(x);
+                int chunkZ = SectionPos.blockToSectionCoord(z);
+                if (chunk == null || chunk.getPos().x != chunkX || chunk.getPos().z != chunkZ) {
+                    chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                    if (chunk == null) {
+                        return false;
+                    }
+                }
+
+                if (boxMinY < chunk.getHeight(Heightmap.Types.WORLD_SURFACE, x, z) + TERRAIN_CLEARANCE) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private SkyShipStatus findStatus(BlockGetter level, AABB boundingBox) {
+        SkyShipStatus status = this.findUnderFluidStatus(level, boundingBox);
+        if (status != null) {
+            this.waterLevel = boundingBox.maxY;
+            return status;
+        } else if (this.findInWater(level, boundingBox)) {
+            return SkyShipStatus.IN_FLUID;
+        } else {
+            //Stays on land only if the blocks touched turn out to have friction once finished
+            return this.findTouchingGround(level, boundingBox) ? SkyShipStatus.ON_LAND : SkyShipStatus.IN_AIR;
+        }
+    }
+
+    public double getWaterLevel() {
+        return this.waterLevel;
+    }
+
+    public float getGroundFriction() {
+        return this.groundFriction;
+    }
+
+    private boolean hasFootprint(AABB boundingBox) {
+        int minX = Mth.floor(boundingBox.minX) - 1;
+        int minZ = Mth.floor(boundingBox.minZ) - 1;
+        int groundMinY = Mth.floor(boundingBox.minY - 0.001D) - 1;
+        int groundMaxY = Mth.ceil(boundingBox.minY) + 1;
+        int topMinY = Math.max(Mth.floor(boundingBox.maxY), groundMaxY);
+
+        return minX == this.minX && minZ == this.minZ &&
+                Mth.ceil(boundingBox.maxX) + 1 - minX == this.sizeX &&
+                Mth.ceil(boundingBox.maxZ) + 1 - minZ == this.sizeZ &&
+                groundMinY == this.groundMinY && groundMaxY == this.groundMaxY && topMinY == this.topMinY &&
+                Math.max(Mth.ceil(boundingBox.maxY + 0.001D), topMinY) == this.topMaxY;
+    }
+
+    private void readStates(BlockGetter level, AABB boundingBox) {
+        this.minX = Mth.floor(boundingBox.minX) - 1;
+        this.minZ = Mth.floor(boundingBox.minZ) - 1;
+        this.sizeX = Mth.ceil(boundingBox.maxX) + 1 - this.minX;
+        this.sizeZ = Mth.ceil(boundingBox.maxZ) + 1 - this.minZ;
+        this.groundMinY = Mth.floor(boundingBox.minY - 0.001D) - 1;
+        this.groundMaxY = Mth.ceil(boundingBox.minY) + 1;
+        this.topMinY = Math.max(Mth.floor(boundingBox.maxY), this.groundMaxY);
+        this.topMaxY = Math.max(Mth.ceil(boundingBox.maxY + 0.001D), this.topMinY);
+
+        int layers = (this.groundMaxY - this.groundMinY) + (this.topMaxY - this.topMinY);
+        int size = this.sizeX * this.sizeZ * layers;
+        if (this.states.length < size) {
+            this.states = new BlockState[size];
+            this.fluidHeights = new float[size];
+        }
+        Arrays.fill(this.fluidHeights, 0, size, Float.NaN);
+        this.dirty = false;
+        this.age = 0;
+
+        for (int y = this.groundMinY; y < this.groundMaxY; ++y) {
+            this.readLayer(level, y, 0);
+        }
+
+        //Only the footprint itself is needed at the top of the ship, not the ring around it
+        for (int y = this.topMinY; y < this.topMaxY; ++y) {
+            this.readLayer(level, y, 1);
+        }
+    }
+
+    private void readLayer(BlockGetter level, int y, int inset) {
+        for (int x = this.minX + inset; x < this.minX + this.sizeX - inset; ++x) {
+            for (int z = this.minZ + inset; z < this.minZ + this.sizeZ - inset; ++z) {
+                this.states[this.index(x, y, z)] = level.getBlockState(this.mutablePos.set(x, y, z));
+            }
+        }
+    }
+
+    private boolean isBuffered(int y) {
+        return y >= this.groundMinY && y < this.groundMaxY || y >= this.topMinY && y < this.topMaxY;
+    }
+
+    private float getFluidHeight(BlockGetter level, FluidState fluidState, int x, int y, int z) {
+        int index = this.index(x, y, z);
+        float height = this.fluidHeights[index];
+        if (Float.isNaN(height)) {
+            height = fluidState.getHeight(level, this.mutablePos.set(x, y, z));
+            this.fluidHeights[index] = height;
+        }
+        return height;
+    }
+
+    private int index(int x, int y, int z) {
+        int layer = y < this.groundMaxY ? y - this.groundMinY : (this.groundMaxY - this.groundMinY) + y - this.topMinY;
+        return (layer * this.sizeZ + (z - this.minZ)) * this.sizeX + (x - this.minX);
+    }
+
+    @Nullable
+    private SkyShipStatus findUnderFluidStatus(BlockGetter level, AABB boundingBox) {
+        double surface = boundingBox.maxY + 0.001D;
+        int fromY = Mth.floor(boundingBox.maxY);
+        int toY = Mth.ceil(surface);
+        boolean underFluid = false;
+
+        for (int x = this.minX + 1; x < this.minX + this.sizeX - 1; ++x) {
+            for (int y = fromY; y < toY; ++y) {
+                for (int z = this.minZ + 1; z < this.minZ + this.sizeZ - 1; ++z) {
+                    FluidState fluidState = this.states[this.index(x, y, z)].getFluidState();
+                    if (!fluidState.isEmpty() && surface < (double) ((float) y + this.getFluidHeight(level, fluidState, x, y, z))) {
+                        if (!fluidState.isSource()) {
+                            return SkyShipStatus.UNDER_FLOWING_FLUID;
+                        }
+
+                        underFluid = true;
+                    }
+                }
+            }
+        }
+
+        return underFluid ? SkyShipStatus.UNDER_FLUID : null;
+    }
+
+    private boolean findInWater(BlockGetter level, AABB boundingBox) {
+        int fromY = Mth.floor(boundingBox.minY);
+        int toY = Mth.ceil(boundingBox.minY + 0.001D);
+        boolean inWater = false;
+        this.waterLevel = Double.MIN_VALUE;
+
+        for (int x = this.minX + 1; x < this.minX + this.sizeX - 1; ++x) {
+            for (int y = fromY; y < toY; ++y) {
+                for (int z = this.minZ + 1; z < this.minZ + this.sizeZ - 1; ++z) {
+                    FluidState fluidState = this.states[this.index(x, y, z)].getFluidState();
+                    if (fluidState.is(FluidTags.WATER)) {
+                        float height = (float) y + this.getFluidHeight(level, fluidState, x, y, z);
+                        this.waterLevel = Math.max(height, this.waterLevel);
+                        inWater |= boundingBox.minY < (double) height;
+                    }
+                }
+            }
+        }
+
+        return inWater;
+    }
+
+    private boolean findTouchingGround(BlockGetter level, AABB boundingBox) {
+        VoxelShape groundShape = null;
+        int maxX = this.minX + this.sizeX;
+        int maxZ = this.minZ + this.sizeZ;
+        this.touchingCount = 0;
+
+        for (int x = this.minX; x < maxX; ++x) {
+            for (int z = this.minZ; z < maxZ; ++z) {
+                int edges = (x != this.minX && x != maxX - 1 ? 0 : 1) + (z != this.minZ && z != maxZ - 1 ? 0 : 1);
+                if (edges != 2) {
+                    for (int y = this.groundMinY; y < this.groundMaxY; ++y) {
+                        if (edges <= 0 || y != this.groundMinY && y != this.groundMaxY - 1) {
+                            BlockState blockState = this.states[this.index(x, y, z)];
+                            if (blockState.getBlock() instanceof WaterlilyBlock) {
+                                continue;
+                            }
+
+                            VoxelShape collisionShape = blockState.getCollisionShape(level, this.mutablePos.set(x, y, z));
+                            boolean touchingGround;
+                            if (collisionShape.isEmpty()) {
+                                touchingGround = false;
+                            } else if (collisionShape == Shapes.block()) {
+                                touchingGround = x < boundingBox.maxX && x + 1 > boundingBox.minX &&
+                                        y < boundingBox.minY && y + 1 > boundingBox.minY - 0.001D &&
+                                        z < boundingBox.maxZ && z + 1 > boundingBox.minZ;
+                            } else {
+                                if (groundShape == null) {
+                                    groundShape = Shapes.create(boundingBox.minX, boundingBox.minY - 0.001D, boundingBox.minZ, boundingBox.maxX, boundingBox.minY, boundingBox.maxZ);
+                                }
+                                touchingGround = Shapes.joinIsNotEmpty(collisionShape.move(x, y, z), groundShape, BooleanOp.AND);
+                            }
+
+                            if (touchingGround) {
+                                if (this.touchingCount == this.touching.length) {
+                                    this.touching = Arrays.copyOf(this.touching, this.touchingCount * 2);
+                                }
+                                this.touching[this.touchingCount++] = this.mutablePos.asLong();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return this.touchingCount > 0;
+    }
+}
@@ -0,0 +1,150 @@
+package xyz.brassgoggledcoders.skyships.entity;
+
+import net.minecraft.util.Mth;
+
+/**
+ * Buffers the positions a client is sent for a ship it doesn't pilot, stamped with when they arrived, and plays them
+ * back a little behind real time. The delay follows the measured gap between updates and its jitter, so updates that
+ * arrive unevenly or only every few ticks still play back smoothly, and a ship runs on briefly past its last update
+ * rather than stopping dead when one is late.
+ */
+public class SkyShipInterpolation {
+    private static final int SIZE = 16;
+    private static final int STATE_SIZE = 5;
+    private static final long MIN_DELAY = 50L;
+    private static final long MAX_DELAY = 500L;
+    private static final long MAX_EXTRAPOLATION = 100L;
+
+    private final long[] times = new long[SIZE];
+    private final double[] states = new double[SIZE * STATE_SIZE];
+    private int newest = -1;
+    private int count;
+
+    private long lastArrival = -1L;
+    private double interval = MIN_DELAY;
+    private double jitter;
+
+    private double x;
+    private double y;
+    private double z;
+    private float yRot;
+    private float xRot;
+
+    public void add(long time, double x, double y, double z, float yRot, float xRot) {
+        if (this.lastArrival >= 0L) {
+            double gap = Math.min(time - this.lastArrival, MAX_DELAY);
+            this.interval += (gap - this.interval) / 8.0D;
+            this.jitter += (Math.abs(gap - this.interval) - this.jitter) / 8.0D;
+        }
+        this.lastArrival = time;
+
+        this.newest = (this.newest + 1) % SIZE;
+        this.count = Math.min(this.count + 1, SIZE);
+        int index = this.newest * STATE_SIZE;
+        this.times[this.newest] = time;
+        this.states[index] = x;
+        this.states[index + 1] = y;
+        this.states[index + 2] = z;
+        this.states[index + 3] = yRot;
+        this.states[index + 4] = xRot;
+    }
+
+    public void clear() {
+        this.newest = -1;
+        this.count = 0;
+    }
+
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * How far the given position is from the newest update, or infinitely far when there is nothing buffered.
+     */
+    public double distanceToNewestSqr(double x, double y, double z) {
+        if (this.count == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        int index = this.newest * STATE_SIZE;
+        double dx = x - this.states[index];
+        double dy = y - this.states[index + 1];
+        double dz = z - this.states[index + 2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public long getDelay() {
+        return Mth.clamp(Math.round(this.interval + 2.0D * this.jitter), MIN_DELAY, MAX_DELAY);
+    }
+
+    /**
+     * Works out where the ship should be shown at the given time, returning false when there is nothing buffered.
+     */
+    public boolean sample(long now) {
+        if (this.count == 0) {
+            return false;
+        }
+
+        long renderTime = now - this.getDelay();
+        int later = this.newest;
+        for (int i = 1; i < this.count; i++) {
+            int earlier = (this.newest - i + SIZE) % SIZE;
+            if (this.times[earlier] <= renderTime) {
+                if (renderTime >= this.times[later]) {
+                    //Past the newest update, so carry on along the last stretch for a short while
+                    long extrapolated = Math.min(renderTime - this.times[later], MAX_EXTRAPOLATION);
+                    this.blend(earlier, later, 1.0D + (double) extrapolated / Math.max(this.times[later] - this.times[earlier], 1L));
+                } else {
+                    this.blend(earlier, later, (double) (renderTime - this.times[earlier]) / Math.max(this.times[later] - this.times[earlier], 1L));
+                }
+                return true;
+            }
+            later = earlier;
+        }
+
+        this.blend(later, later, 0.0D);
+        return true;
+    }
+
+    /**
+     * Moves straight to the newest update, returning false when there is nothing buffered.
+     */
+    public boolean sampleNewest() {
+        if (this.count == 0) {
+            return false;
+        }
+
+        this.blend(this.newest, this.newest, 0.0D);
+        return true;
+    }
+
+    private void blend(int from, int to, double delta) {
+        int fromIndex = from * STATE_SIZE;
+        int toIndex = to * STATE_SIZE;
+        this.x = Mth.lerp(delta, this.states[fromIndex], this.states[toIndex]);
+        this.y = Mth.lerp(delta, this.states[fromIndex + 1], this.states[toIndex + 1]);
+        this.z = Mth.lerp(delta, this.states[fromIndex + 2], this.states[toIndex + 2]);
+        this.yRot = (float) (this.states[fromIndex + 3] + delta * Mth.wrapDegrees(this.states[toIndex + 3] - this.states[fromIndex + 3]));
+        this.xRot = (float) Mth.lerp(delta, this.states[fromIndex + 4], this.states[toIndex + 4]);
+    }
+
+    public double getX() {
+        return this.x;
+    }
+
+    public double getY() {
+        return this.y;
+    }
+
+    public double getZ() {
+        return this.z;
+    }
+
+    public float getYRot() {
+        return this.yRot;
+    }
+
+    public float getXRot() {
+        return this.xRot;
+    }
+}
@@ -0,0 +1,90 @@
+package xyz.brassgoggledcoders.skyships.entity;
+
+import net.minecraft.util.Mth;
+import xyz.brassgoggledcoders.skyships.network.SkyShipCorrectionPacket;
+
+/**
+ * The piloting client's record of the control it used and the state it predicted for each of its recent ticks, kept
+ * so the server's corrections can be checked against the tick they were simulated for and the ticks since replayed
+ * from the status the ship was in at the time.
+ */
+public class SkyShipPrediction {
+    private static final int SIZE = 64;
+    private static final int STATE_SIZE = 8;
+    private static final double MAX_POSITION_ERROR = 0.01D;
+    private static final float MAX_ROTATION_ERROR = 1.0F;
+
+    private final byte[] controls = new byte[SIZE];
+    private final double[] states = new double[SIZE * STATE_SIZE];
+    private final SkyShipStatus[] statuses = new SkyShipStatus[SIZE];
+    private final SkyShipStatus[] oldStatuses = new SkyShipStatus[SIZE];
+    private int sequence;
+    private int firstSequence = 1;
+
+    public int next() {
+        return ++this.sequence;
+    }
+
+    public int getSequence() {
+        return this.sequence;
+    }
+
+    public boolean has(int sequence) {
+        return sequence <= this.sequence && sequence > this.sequence - SIZE && sequence >= this.firstSequence;
+    }
+
+    /**
+     * Forgets every recorded tick when a pilot starts or stops piloting, while sequences carry on counting up so that
+     * corrections meant for the old session can never be mistaken for the new one.
+     */
+    public void reset() {
+        this.firstSequence = this.sequence + 1;
+    }
+
+    public byte getControl(int sequence) {
+        return this.controls[sequence & (SIZE - 1)];
+    }
+
+    public SkyShipStatus getStatus(int sequence) {
+        return this.statuses[sequence & (SIZE - 1)];
+    }
+
+    public SkyShipStatus getOldStatus(int sequence) {
+        return this.oldStatuses[sequence & (SIZE - 1)];
+    }
+
+    public void record(int sequence, byte control, SkyShipStatus status, SkyShipStatus oldStatus, double x, double y,
+                       double z, float yRot, double deltaX, double deltaY, double deltaZ, float deltaRotation) {
+        int index = (sequence & (SIZE - 1)) * STATE_SIZE;
+        this.controls[sequence & (SIZE - 1)] = control;
+        this.statuses[sequence & (SIZE - 1)] = status;
+        this.oldStatuses[sequence & (SIZE - 1)] = oldStatus;
+        this.states[index] = x;
+        this.states[index + 1] = y;
+        this.states[index + 2] = z;
+        this.states[index + 3] = yRot;
+        this.states[index + 4] = deltaX;
+        this.states[index + 5] = deltaY;
+        this.states[index + 6] = deltaZ;
+        this.states[index + 7] = deltaRotation;
+    }
+
+    public boolean matches(SkyShipCorrectionPacket correction) {
+        int index = (correction.getSequence() & (SIZE - 1)) * STATE_SIZE;
+        return matches(this.states[index], this.states[index + 1], this.states[index + 2], (float) this.states[index + 3],
+                correction.getX(), correction.getY(), correction.getZ(), correction.getYRot());
+    }
+
+    /**
+     * Whether two states of a ship are close enough to count as the same, which is also what the server checks the
+     * state a pilot's client reports predicting against before sending it a correction.
+     */
+    public static boolean matches(double x, double y, double z, float yRot, double otherX, double otherY, double otherZ,
+                                  float otherYRot) {
+        double errorX = x - otherX;
+        double errorY = y - otherY;
+        double errorZ = z - otherZ;
+        return errorX * errorX + errorY * errorY + errorZ * errorZ <= MAX_POSITION_ERROR &&
+                Math.abs(Mth.wrapDegrees(yRot - otherYRot)) <= MAX_ROTATION_ERROR;
+    }
+}
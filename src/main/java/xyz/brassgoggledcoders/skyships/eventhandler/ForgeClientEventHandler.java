@@ -4,6 +4,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.client.player.Input;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RenderLevelStageEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.EntityMountEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -12,6 +13,7 @@ import net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus;
 import xyz.brassgoggledcoders.skyships.SkyShips;
 import xyz.brassgoggledcoders.skyships.content.SkyShipsKeyMappings;
 import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+import xyz.brassgoggledcoders.skyships.renderer.SkyShipInstancer;
 
 @Mod.EventBusSubscriber(modid = SkyShips.ID, bus = Bus.FORGE, value = Dist.CLIENT)
 public class ForgeClientEventHandler {
@@ -33,6 +35,15 @@ public class ForgeClientEventHandler {
         }
     }
 
+    @SubscribeEvent
+    public static void handleRenderLevelStage(RenderLevelStageEvent event) {
+        if (event.getStage() == RenderLevelStageEvent.Stage.AFTER_SKY) {
+            SkyShipInstancer.begin();
+        } else if (event.getStage() == RenderLevelStageEvent.Stage.AFTER_ENTITIES) {
+            SkyShipInstancer.draw();
+        }
+    }
+
     @SubscribeEvent
     public static void handleEnterShip(EntityMountEvent event) {
         if (event.isMounting() && event.getEntityBeingMounted() instanceof SkyShip shipEntity &&
@@ -0,0 +1,58 @@
+package xyz.brassgoggledcoders.skyships.eventhandler;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus;
+import xyz.brassgoggledcoders.skyships.SkyShips;
+import xyz.brassgoggledcoders.skyships.level.SkyShipProximity;
+import xyz.brassgoggledcoders.skyships.level.SkyShipSimulation;
+import xyz.brassgoggledcoders.skyships.level.SkyShipTracker;
+import xyz.brassgoggledcoders.skyships.network.SkyShipControlInputs;
+
+@Mod.EventBusSubscriber(modid = SkyShips.ID, bus = Bus.FORGE)
+public class ForgeCommonEventHandler {
+
+    @SubscribeEvent
+    public static void handleNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        SkyShipTracker tracker = SkyShipTracker.getIfPresent(event.getLevel());
+        if (tracker != null) {
+            tracker.onBlockChanged(event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void handleLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.level instanceof ServerLevel serverLevel) {
+            SkyShipSimulation simulation = SkyShipSimulation.getIfPresent(serverLevel);
+            if (simulation != null) {
+                if (event.phase == TickEvent.Phase.START) {
+                    simulation.tick();
+                } else {
+                    simulation.sendUpdates();
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void handlePlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        SkyShipControlInputs.remove(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void handleLevelUnload(LevelEvent.Unload event) {
+        SkyShipTracker.remove(event.getLevel());
+        if (event.getLevel() instanceof Level level) {
+            SkyShipProximity.remove(level);
+        }
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            SkyShipSimulation.remove(serverLevel);
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package xyz.brassgoggledcoders.skyships.eventhandler;
 
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.ShaderInstance;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.EntityRenderersEvent;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import net.minecraftforge.client.event.RegisterShadersEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus;
 import xyz.brassgoggledcoders.skyships.SkyShips;
 import xyz.brassgoggledcoders.skyships.renderer.BalloonModel;
 import xyz.brassgoggledcoders.skyships.renderer.GondolaModel;
+import xyz.brassgoggledcoders.skyships.renderer.SkyShipAtlas;
+import xyz.brassgoggledcoders.skyships.renderer.SkyShipInstancer;
 import xyz.brassgoggledcoders.skyships.renderer.SkyShipRenderer;
 import xyz.brassgoggledcoders.skyships.renderer.SteeringModel;
 
+import java.io.IOException;
+
 @EventBusSubscriber(modid = SkyShips.ID, bus = Bus.MOD, value = Dist.CLIENT)
 public class ModClientEventHandler {
 
@@ -20,4 +28,22 @@ public class ModClientEventHandler {
         event.registerLayerDefinition(SkyShipRenderer.STEERING_LOCATION, SteeringModel::createBodyLayer);
         event.registerLayerDefinition(SkyShipRenderer.GONDOLA_LOCATION, GondolaModel::createBodyLayer);
     }
+
+    @SubscribeEvent
+    public static void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+        event.registerReloadListener(SkyShipAtlas.create(Minecraft.getInstance().getTextureManager()));
+    }
+
+    @SubscribeEvent
+    public static void registerShaders(RegisterShadersEvent event) {
+        try {
+            event.registerShader(
+                    new ShaderInstance(event.getResourceManager(), SkyShips.rl("sky_ship_instanced"), SkyShipInstancer.VERTEX_FORMAT),
+                    SkyShipInstancer::setShader
+            );
+        } catch (IOException e) {
+            SkyShips.LOGGER.error("Failed to load instanced sky ship shader, falling back to regular rendering", e);
+            SkyShipInstancer.setShader(null);
+        }
+    }
 }
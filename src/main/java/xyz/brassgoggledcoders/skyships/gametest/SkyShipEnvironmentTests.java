@@ -0,0 +1,98 @@
+package xyz.brassgoggledcoders.skyships.gametest;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.LiquidBlock;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+import xyz.brassgoggledcoders.skyships.SkyShips;
+import xyz.brassgoggledcoders.skyships.content.SkyShipsEntities;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+import xyz.brassgoggledcoders.skyships.entity.SkyShipEnvironment;
+
+import java.util.concurrent.ForkJoinPool;
+
+@GameTestHolder(SkyShips.ID)
+@PrefixGameTestTemplate(false)
+public class SkyShipEnvironmentTests {
+    private static final double[] HEIGHTS = {1.0D, 1.2D, 1.5D, 1.89D, 2.0D, 2.5D};
+
+    /**
+     * Sweeps a ship sized box over water, flowing water, lily pads, ice, slabs and fences, checking that deriving the
+     * environment off the server thread gives exactly the status the serial sample does.
+     */
+    @GameTest(template = "empty")
+    public static void parallelEnvironmentMatchesSerial(GameTestHelper helper) {
+        buildLayout(helper);
+
+        ServerLevel level = helper.getLevel();
+        SkyShip skyShip = helper.spawn(SkyShipsEntities.SKY_SHIP.get(), new Vec3(12.5D, 2.0D, 12.5D));
+        SkyShipEnvironment serial = new SkyShipEnvironment();
+        SkyShipEnvironment parallel = new SkyShipEnvironment();
+
+        for (double y : HEIGHTS) {
+            for (double x = 0.0D; x <= 8.0D; x += 0.375D) {
+                for (double z = 0.0D; z <= 8.0D; z += 0.375D) {
+                    Vec3 corner = helper.absoluteVec(new Vec3(x, y, z));
+                    AABB boundingBox = new AABB(corner, corner.add(1.75D, 4.0D, 1.75D));
+
+                    serial.sample(level, skyShip, boundingBox);
+                    if (parallel.prepare(level, skyShip, boundingBox)) {
+                        ForkJoinPool.commonPool().submit(parallel::derive).join();
+                        parallel.finish(level, skyShip);
+                    }
+
+                    String at = " at " + x + ", " + y + ", " + z;
+                    helper.assertTrue(serial.getStatus() == parallel.getStatus(),
+                            "Status " + parallel.getStatus() + " should be " + serial.getStatus() + at);
+                    helper.assertTrue(Double.compare(serial.getWaterLevel(), parallel.getWaterLevel()) == 0,
+                            "Water level " + parallel.getWaterLevel() + " should be " + serial.getWaterLevel() + at);
+                    helper.assertTrue(Float.compare(serial.getGroundFriction(), parallel.getGroundFriction()) == 0,
+                            "Ground friction " + parallel.getGroundFriction() + " should be " + serial.getGroundFriction() + at);
+                }
+            }
+        }
+
+        helper.succeed();
+    }
+
+    private static void buildLayout(GameTestHelper helper) {
+        for (int x = 0; x < 10; ++x) {
+            for (int z = 0; z < 10; ++z) {
+                helper.setBlock(new BlockPos(x, 0, z), Blocks.STONE);
+            }
+        }
+
+        for (int x = 0; x < 3; ++x) {
+            for (int z = 0; z < 10; ++z) {
+                helper.setBlock(new BlockPos(x, 1, z), Blocks.WATER);
+                helper.setBlock(new BlockPos(x, 2, z), z < 5 ? Blocks.WATER.defaultBlockState() :
+                        Blocks.WATER.defaultBlockState().setValue(LiquidBlock.LEVEL, 3));
+            }
+        }
+        helper.setBlock(new BlockPos(1, 3, 7), Blocks.LILY_PAD);
+        helper.setBlock(new BlockPos(2, 3, 8), Blocks.LILY_PAD);
+
+        for (int z = 0; z < 10; ++z) {
+            helper.setBlock(new BlockPos(3, 1, z), Blocks.WATER.defaultBlockState().setValue(LiquidBlock.LEVEL, 5));
+        }
+
+        for (int x = 5; x < 7; ++x) {
+            for (int z = 0; z < 4; ++z) {
+                helper.setBlock(new BlockPos(x, 1, z), z < 2 ? Blocks.ICE : Blocks.BLUE_ICE);
+            }
+            for (int z = 4; z < 8; ++z) {
+                helper.setBlock(new BlockPos(x, 1, z), Blocks.STONE_SLAB);
+            }
+        }
+
+        for (int z = 0; z < 10; z += 2) {
+            helper.setBlock(new BlockPos(8, 1, z), Blocks.OAK_FENCE);
+        }
+    }
+}
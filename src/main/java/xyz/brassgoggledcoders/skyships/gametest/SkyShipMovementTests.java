@@ -0,0 +1,156 @@
+package xyz.brassgoggledcoders.skyships.gametest;
+
+import com.sun.management.ThreadMXBean;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.vehicle.Boat;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+import xyz.brassgoggledcoders.skyships.SkyShips;
+import xyz.brassgoggledcoders.skyships.config.SkyShipsConfig;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+import xyz.brassgoggledcoders.skyships.level.SkyShipTracker;
+
+import java.lang.management.ManagementFactory;
+
+@GameTestHolder(SkyShips.ID)
+@PrefixGameTestTemplate(false)
+public class SkyShipMovementTests {
+    private static final int FIRE_X = 3;
+    private static final int LAUNCH_SUB_STEPS = 4;
+    //Clear of the fire on both sides, with air friction taking the launch down to 4.2 blocks on the tick
+    private static final Vec3 LAUNCH_FROM = new Vec3(1.5D, 1.2D, 8.5D);
+    private static final Vec3 LAUNCH = new Vec3(6.0D, 0.0D, 0.0D);
+    private static final int WARM_UP_TICKS = 20;
+    private static final int MEASURED_TICKS = 40;
+    /**
+     * Ceiling on what a ship cruising through open air may allocate each tick beyond what vanilla allocates moving any
+     * entity there, which covers the corner positions checkInsideBlocks builds and nothing of the ship's own.
+     */
+    private static final long CRUISING_BYTES_PER_TICK = 128;
+    private static final Vec3 CRUISE = new Vec3(0.15D, 0.0D, 0.0D);
+
+    /**
+     * Launches two ships past a fire, fast enough that neither touches it where it starts or where it ends the tick.
+     * The ship moved in sub-steps passes through the fire on the way and is set alight, where the ship moved in one
+     * step, as with sub-steps turned off, jumps clean over it.
+     */
+    @GameTest(template = "empty")
+    public static void subStepsCatchBlocksPassedMidMove(GameTestHelper helper) {
+        helper.setBlock(new BlockPos(FIRE_X, 0, 8), Blocks.NETHERRACK);
+        helper.setBlock(new BlockPos(FIRE_X, 1, 8), Blocks.FIRE);
+
+        SkyShip subStepped = new SkyShip(helper.getLevel(), helper.absoluteVec(LAUNCH_FROM));
+        SkyShip singleStep = new SkyShip(helper.getLevel(), helper.absoluteVec(LAUNCH_FROM));
+        int subSteps = SkyShipsConfig.PHYSICS_SUB_STEPS.get();
+        try {
+            SkyShipsConfig.PHYSICS_SUB_STEPS.set(LAUNCH_SUB_STEPS);
+            subStepped.setDeltaMovement(LAUNCH);
+            step(subStepped);
+
+            SkyShipsConfig.PHYSICS_SUB_STEPS.set(1);
+            singleStep.setDeltaMovement(LAUNCH);
+            step(singleStep);
+        } finally {
+            SkyShipsConfig.PHYSICS_SUB_STEPS.set(subSteps);
+            untrack(helper, subStepped, singleStep);
+        }
+
+        double fireX = helper.absolutePos(new BlockPos(FIRE_X, 0, 0)).getX();
+        helper.assertTrue(singleStep.getBoundingBox().minX > fireX + 1.0D && subStepped.getBoundingBox().minX > fireX + 1.0D,
+                "Both ships should end the tick past the fire, reaching " + singleStep.getBoundingBox().minX + " and " +
+                        subStepped.getBoundingBox().minX);
+        helper.assertFalse(singleStep.getRemainingFireTicks() > 0, "Ship moved in one step caught fire it never ended a move in");
+        helper.assertTrue(subStepped.getRemainingFireTicks() > 0, "Sub-stepped ship passed through the fire without catching it");
+        helper.succeed();
+    }
+
+    /**
+     * Counts the bytes the server thread allocates while a ship cruises through open air, which is where most ships
+     * spend most ticks, less what a boat allocates for the vanilla half of the same tick: its base tick, the new
+     * position and bounding box from setPos, and the new delta from floating. New per-tick allocations in the movement
+     * code show up as a failure. The level's entity buckets are only gathered once a tick, which is in the warm-up as
+     * every step runs within one game tick.
+     */
+    @GameTest(template = "empty")
+    public static void cruisingStaysWithinAllocationBudget(GameTestHelper helper) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threadBean) ||
+                !threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) {
+            helper.fail("Counting thread allocations isn't available on this JVM, so the allocation budget can't be checked");
+            return;
+        }
+
+        for (int x = 0; x < 16; ++x) {
+            for (int z = 0; z < 16; ++z) {
+                helper.setBlock(new BlockPos(x, 0, z), Blocks.STONE);
+            }
+        }
+
+        SkyShip skyShip = new SkyShip(helper.getLevel(), helper.absoluteVec(new Vec3(2.0D, 3.5D, 8.0D)));
+        Vec3 boatStart = helper.absoluteVec(new Vec3(2.0D, 3.5D, 4.0D));
+        Boat boat = new Boat(helper.getLevel(), boatStart.x, boatStart.y, boatStart.z);
+        long perTick;
+        long vanillaPerTick;
+        try {
+            for (int i = 0; i < WARM_UP_TICKS; ++i) {
+                skyShip.setDeltaMovement(CRUISE);
+                step(skyShip);
+                stepVanilla(boat);
+            }
+
+            long before = threadBean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_TICKS; ++i) {
+                skyShip.setDeltaMovement(CRUISE);
+                step(skyShip);
+            }
+            perTick = (threadBean.getCurrentThreadAllocatedBytes() - before) / MEASURED_TICKS;
+
+            before = threadBean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_TICKS; ++i) {
+                stepVanilla(boat);
+            }
+            vanillaPerTick = (threadBean.getCurrentThreadAllocatedBytes() - before) / MEASURED_TICKS;
+        } finally {
+            untrack(helper, skyShip);
+        }
+
+        helper.assertTrue(perTick - vanillaPerTick <= CRUISING_BYTES_PER_TICK, "Cruising ship allocated " + perTick +
+                " bytes per tick, " + (perTick - vanillaPerTick) + " over vanilla's " + vanillaPerTick + " and the budget of " +
+                CRUISING_BYTES_PER_TICK);
+        helper.succeed();
+    }
+
+    /**
+     * Ticks a ship the way the level does for entities it ticks itself.
+     */
+    private static void step(SkyShip skyShip) {
+        skyShip.setOldPosAndRot();
+        ++skyShip.tickCount;
+        skyShip.tick();
+    }
+
+    /**
+     * Does the vanilla half of a cruising tick to an entity: its base tick, a move along the cruise through setPos and
+     * a new delta, as floating leaves a ship with.
+     */
+    private static void stepVanilla(Entity entity) {
+        entity.setOldPosAndRot();
+        ++entity.tickCount;
+        entity.baseTick();
+        entity.setPos(entity.getX() + CRUISE.x, entity.getY() + CRUISE.y, entity.getZ() + CRUISE.z);
+        entity.setDeltaMovement(CRUISE.x * 0.7D, CRUISE.y, CRUISE.z * 0.7D);
+    }
+
+    private static void untrack(GameTestHelper helper, SkyShip... skyShips) {
+        SkyShipTracker tracker = SkyShipTracker.getIfPresent(helper.getLevel());
+        if (tracker != null) {
+            for (SkyShip skyShip : skyShips) {
+                tracker.untrack(skyShip);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package xyz.brassgoggledcoders.skyships.gametest;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundMoveEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundTeleportEntityPacket;
+import net.minecraft.server.level.ServerEntity;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+import xyz.brassgoggledcoders.skyships.SkyShips;
+import xyz.brassgoggledcoders.skyships.config.SkyShipsConfig;
+import xyz.brassgoggledcoders.skyships.content.SkyShipsEntities;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+import xyz.brassgoggledcoders.skyships.network.SkyShipFleetPacket;
+import xyz.brassgoggledcoders.skyships.network.SkyShipHitPacket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@GameTestHolder(SkyShips.ID)
+@PrefixGameTestTemplate(false)
+public class SkyShipSyncTests {
+    private static final int FLIGHT_TICKS = 200;
+    private static final int[] HIT_TICKS = {50, 55, 130};
+    //Packet id, the channel name and the message discriminator
+    private static final int CUSTOM_PAYLOAD_HEADER = 1 + FriendlyByteBuf.getVarIntSize(SkyShips.rl("network").toString().length()) +
+            SkyShips.rl("network").toString().length() + 1;
+
+    /**
+     * Flies a spawned, piloted ship through a scripted course of turning, climbing, diving and idling while it takes
+     * hits, and counts the bytes per second a nearby player receives for it: a fleet packet each time the ship is due a
+     * near rate update, carrying its position and control byte, and a hit packet for each hit. Each packet is encoded
+     * as it would be sent, and must decode to the ship's state and match the size {@link SkyShipFleetPacket} reports
+     * for the savings SkyShipSync logs.
+     */
+    @GameTest(template = "empty", timeoutTicks = FLIGHT_TICKS + 20)
+    public static void flyingShipSendsMeasuredState(GameTestHelper helper) {
+        SkyShip skyShip = helper.spawn(SkyShipsEntities.SKY_SHIP.get(), new Vec3(8.0D, 3.0D, 8.0D));
+        Player pilot = helper.makeMockPlayer();
+        pilot.startRiding(skyShip, true);
+        BlockPos viewer = helper.absolutePos(new BlockPos(4, 2, 4));
+        FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        //Fleet bytes, hit bytes and fleet packets
+        long[] sent = new long[3];
+
+        for (int tick = 1; tick <= FLIGHT_TICKS; ++tick) {
+            int flightTick = tick;
+            helper.runAtTickTime(tick, () -> {
+                int phase = flightTick / 40;
+                skyShip.setInput(phase == 1, phase == 0, false, false, phase == 2 ? 1 : phase == 3 ? -1 : 0);
+
+                for (int hitTick : HIT_TICKS) {
+                    if (flightTick == hitTick) {
+                        skyShip.hurt(DamageSource.GENERIC, 1.0F);
+                        //As NetworkHandler sends it
+                        SkyShipHitPacket hit = new SkyShipHitPacket(skyShip.getId(), skyShip.getHurtDir(), skyShip.getDamage());
+                        buffer.clear();
+                        hit.encode(buffer);
+                        int encoded = buffer.writerIndex();
+                        SkyShipHitPacket decoded = SkyShipHitPacket.decode(buffer);
+                        helper.assertTrue(decoded.getHurtDir() == skyShip.getHurtDir() && decoded.getDamage() == skyShip.getDamage(),
+                                "Hit packet lost the ship's hurt direction or damage on tick " + flightTick);
+                        sent[1] += CUSTOM_PAYLOAD_HEADER + encoded;
+                    }
+                }
+
+                //Whether SkyShipSync sends the ship to a player within the near distance this tick
+                int nearInterval = SkyShipsConfig.NEAR_UPDATE_INTERVAL.get();
+                if ((skyShip.tickCount + skyShip.getId()) % nearInterval == 0 && skyShip.getTicksSinceChanged() < nearInterval) {
+                    SkyShipFleetPacket fleet = new SkyShipFleetPacket(viewer);
+                    fleet.add(skyShip);
+                    buffer.clear();
+                    fleet.encode(buffer);
+                    int encoded = buffer.writerIndex();
+                    helper.assertTrue(encoded == fleet.getEncodedSize(),
+                            "Fleet packet encoded to " + encoded + " bytes, but reported " + fleet.getEncodedSize());
+                    SkyShipFleetPacket decoded = SkyShipFleetPacket.decode(buffer);
+                    helper.assertTrue(decoded.getControl(0) == skyShip.getPaddleControl(),
+                            "Fleet packet lost the ship's control byte on tick " + flightTick);
+                    sent[0] += CUSTOM_PAYLOAD_HEADER + encoded;
+                    sent[2]++;
+                }
+            });
+        }
+
+        helper.runAtTickTime(FLIGHT_TICKS + 1, () -> {
+            buffer.release();
+            pilot.stopRiding();
+            skyShip.discard();
+
+            long seconds = FLIGHT_TICKS / 20;
+            SkyShips.LOGGER.info("Sky ship over a scripted flight: {} bytes per second in {} fleet packets, and {} in hit packets",
+                    sent[0] / seconds, sent[2], sent[1] / seconds);
+            helper.assertTrue(sent[2] > 0, "Ship was never due an update over the flight");
+            helper.succeed();
+        });
+    }
+
+    /**
+     * Flies a spawned ship back and forth while it's pushed about, with a vanilla tracker for it sending changes each
+     * tick, and checks that the tracker never sends a move or teleport of its own, since the ship's position only goes
+     * out in fleet packets.
+     */
+    @GameTest(template = "empty", timeoutTicks = FLIGHT_TICKS + 20)
+    public static void tickingShipSendsNoVanillaMoves(GameTestHelper helper) {
+        SkyShip skyShip = helper.spawn(SkyShipsEntities.SKY_SHIP.get(), new Vec3(8.0D, 3.0D, 8.0D));
+        EntityType<?> type = skyShip.getType();
+        List<Packet<?>> packets = new ArrayList<>();
+        ServerEntity serverEntity = new ServerEntity(helper.getLevel(), skyShip, type.updateInterval(), type.trackDeltas(), packets::add);
+        //Pairs the ship at its spawn position, as happens when a player starts tracking it
+        serverEntity.sendChanges();
+        packets.clear();
+
+        for (int tick = 1; tick <= FLIGHT_TICKS; ++tick) {
+            int flightTick = tick;
+            helper.runAtTickTime(tick, () -> {
+                skyShip.setDeltaMovement(flightTick % 40 < 20 ? 0.2D : -0.2D, 0.0D, 0.05D);
+                if (flightTick % 25 == 0) {
+                    skyShip.push(0.3D, 0.1D, 0.0D);
+                }
+                serverEntity.sendChanges();
+            });
+        }
+
+        helper.runAtTickTime(FLIGHT_TICKS + 1, () -> {
+            try {
+                for (Packet<?> packet : packets) {
+                    helper.assertFalse(packet instanceof ClientboundMoveEntityPacket || packet instanceof ClientboundTeleportEntityPacket,
+                            "Vanilla sent " + packet.getClass().getSimpleName() + " for a ticking sky ship");
+                }
+            } finally {
+                skyShip.discard();
+            }
+            helper.succeed();
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package xyz.brassgoggledcoders.skyships.level;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntitySelector;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Buckets the entities around a level's ships by the 16 block cell they're in, gathered from the level at most once a
+ * tick for each cell a ship looks in. Ships crowded into the same cells share one query of the level between them, and
+ * looking through a cell afterwards allocates nothing, so a ship alone in open air can check for entities every tick.
+ * Entities are tested against their current bounding box, so only ones that come from further than the margin around
+ * a cell during the tick are missed, until the next tick.
+ */
+public class SkyShipProximity {
+    private static final Map<Level, SkyShipProximity> PROXIMITIES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final int CELL_SIZE = 16;
+    //Picks up entities just outside a cell, which may move into it before ships look
+    private static final double GATHER_MARGIN = 2.0D;
+
+    private final Level level;
+    private final Long2ObjectMap<List<Entity>> cells = new Long2ObjectOpenHashMap<>();
+    private final LongSet gathered = new LongOpenHashSet();
+    private long gameTime = Long.MIN_VALUE;
+
+    private SkyShipProximity(Level level) {
+        this.level = level;
+    }
+
+    public static SkyShipProximity get(Level level) {
+        return PROXIMITIES.computeIfAbsent(level, SkyShipProximity::new);
+    }
+
+    public static void remove(Level level) {
+        PROXIMITIES.remove(level);
+    }
+
+    /**
+     * Whether any entity {@code entity} can collide with, other than itself, is within the given bounds.
+     */
+    public boolean hasCollidable(Entity entity, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        int minCellX = SectionPos.posToSectionCoord(minX);
+        int minCellY = SectionPos.posToSectionCoord(minY);
+        int minCellZ = SectionPos.posToSectionCoord(minZ);
+        int maxCellX = SectionPos.posToSectionCoord(maxX);
+        int maxCellY = SectionPos.posToSectionCoord(maxY);
+        int maxCellZ = SectionPos.posToSectionCoord(maxZ);
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    List<Entity> entities = this.getCell(cellX, cellY, cellZ);
+                    for (int i = 0; i < entities.size(); i++) {
+                        Entity other = entities.get(i);
+                        if (other != entity && !other.isRemoved() && other.getBoundingBox().intersects(minX, minY, minZ, maxX, maxY, maxZ) &&
+                                entity.canCollideWith(other)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs {@code action} once for each entity other than {@code except} within the box that matches {@code filter}.
+     */
+    public void forEach(Entity except, AABB box, Predicate<? super Entity> filter, Consumer<Entity> action) {
+        int minCellX = SectionPos.posToSectionCoord(box.minX);
+        int minCellY = SectionPos.posToSectionCoord(box.minY);
+        int minCellZ = SectionPos.posToSectionCoord(box.minZ);
+        int maxCellX = SectionPos.posToSectionCoord(box.maxX);
+        int maxCellY = SectionPos.posToSectionCoord(box.maxY);
+        int maxCellZ = SectionPos.posToSectionCoord(box.maxZ);
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    List<Entity> entities = this.getCell(cellX, cellY, cellZ);
+                    for (int i = 0; i < entities.size(); i++) {
+                        Entity other = entities.get(i);
+                        if (other == except || other.isRemoved()) {
+                            continue;
+                        }
+
+                        AABB otherBox = other.getBoundingBox();
+                        //An entity listed in more than one of the cells is only taken from the first it reaches into
+                        if (otherBox.intersects(box) &&
+                                cellX == Mth.clamp(SectionPos.posToSectionCoord(otherBox.minX), minCellX, maxCellX) &&
+                                cellY == Mth.clamp(SectionPos.posToSectionCoord(otherBox.minY), minCellY, maxCellY) &&
+                                cellZ == Mth.clamp(SectionPos.posToSectionCoord(otherBox.minZ), minCellZ, maxCellZ) &&
+                                filter.test(other)) {
+                            action.accept(other);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Entity> getCell(int cellX, int cellY, int cellZ) {
+        long gameTime = this.level.getGameTime();
+        if (gameTime != this.gameTime) {
+            this.gameTime = gameTime;
+            this.release();
+        }
+
+        long key = SectionPos.asLong(cellX, cellY, cellZ);
+        List<Entity> entities = this.cells.get(key);
+        if (entities == null) {
+            entities = new ArrayList<>();
+            this.cells.put(key, entities);
+        }
+
+        if (this.gathered.add(key)) {
+            double minX = SectionPos.sectionToBlockCoord(cellX);
+            double minY = SectionPos.sectionToBlockCoord(cellY);
+            double minZ = SectionPos.sectionToBlockCoord(cellZ);
+            List<Entity> found = this.level.getEntities((Entity) null, new AABB(minX, minY, minZ,
+                    minX + CELL_SIZE, minY + CELL_SIZE, minZ + CELL_SIZE).inflate(GATHER_MARGIN), EntitySelector.NO_SPECTATORS);
+            entities.clear();
+            for (int i = 0; i < found.size(); i++) {
+                entities.add(found.get(i));
+            }
+        }
+
+        return entities;
+    }
+
+    /**
+     * Starts a new tick, keeping the lists of cells that were looked in last tick for reuse and dropping the rest, so
+     * no entities are held on to once ships have moved on.
+     */
+    private void release() {
+        ObjectIterator<Long2ObjectMap.Entry<List<Entity>>> iterator = Long2ObjectMaps.fastIterator(this.cells);
+        while (iterator.hasNext()) {
+            Long2ObjectMap.Entry<List<Entity>> entry = iterator.next();
+            if (this.gathered.contains(entry.getLongKey())) {
+                entry.getValue().clear();
+            } else {
+                iterator.remove();
+            }
+        }
+        this.gathered.clear();
+    }
+}
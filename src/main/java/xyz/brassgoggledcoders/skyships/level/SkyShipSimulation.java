@@ -0,0 +1,188 @@
+package xyz.brassgoggledcoders.skyships.level;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.phys.Vec3;
+import xyz.brassgoggledcoders.skyships.config.SkyShipsConfig;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+import xyz.brassgoggledcoders.skyships.entity.SkyShipStatus;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Steps every ship in a server level together at the start of the level tick, before entities tick. All ships have
+ * their surroundings sampled in one pass, then the float for the ships the server moves itself is worked out from flat
+ * arrays of their motion. Each ship applies it in its own tick, at the point it would otherwise float itself, and then
+ * handles input, the move itself and entity interaction on its own.
+ */
+public class SkyShipSimulation {
+    //Only ever touched from the server thread
+    private static final Map<ServerLevel, SkyShipSimulation> SIMULATIONS = new WeakHashMap<>();
+
+    private final ServerLevel level;
+    private final SkyShipSync sync;
+
+    private SkyShip[] skyShips = new SkyShip[16];
+    private int size;
+
+    private boolean[] deriving = new boolean[16];
+    private boolean[] floating = new boolean[16];
+    private double[] motion = new double[48];
+    private float[] friction = new float[16];
+    private double[] lift = new double[16];
+    private double[] buoyancy = new double[16];
+
+    private SkyShipSimulation(ServerLevel level) {
+        this.level = level;
+        this.sync = new SkyShipSync(level);
+    }
+
+    public static SkyShipSimulation get(ServerLevel level) {
+        return SIMULATIONS.computeIfAbsent(level, SkyShipSimulation::new);
+    }
+
+    @Nullable
+    public static SkyShipSimulation getIfPresent(ServerLevel level) {
+        return SIMULATIONS.get(level);
+    }
+
+    public static void remove(ServerLevel level) {
+        SIMULATIONS.remove(level);
+    }
+
+    public void add(SkyShip skyShip) {
+        if (skyShip.getSimulationIndex() < 0) {
+            if (this.size == this.skyShips.length) {
+                int capacity = this.size * 2;
+                this.skyShips = Arrays.copyOf(this.skyShips, capacity);
+                this.deriving = Arrays.copyOf(this.deriving, capacity);
+                this.floating = Arrays.copyOf(this.floating, capacity);
+                this.motion = Arrays.copyOf(this.motion, capacity * 3);
+                this.friction = Arrays.copyOf(this.friction, capacity);
+                this.lift = Arrays.copyOf(this.lift, capacity);
+                this.buoyancy = Arrays.copyOf(this.buoyancy, capacity);
+            }
+            skyShip.setSimulationIndex(this.size);
+            this.skyShips[this.size++] = skyShip;
+        }
+    }
+
+    public void remove(SkyShip skyShip) {
+        int index = skyShip.getSimulationIndex();
+        if (index >= 0 && index < this.size && this.skyShips[index] == skyShip) {
+            SkyShip last = this.skyShips[--this.size];
+            this.skyShips[index] = last;
+            last.setSimulationIndex(index);
+            this.skyShips[this.size] = null;
+        }
+        skyShip.setSimulationIndex(-1);
+    }
+
+    private void sampleParallel() {
+        int deriving = 0;
+        for (int i = 0; i < this.size; i++) {
+            SkyShip skyShip = this.skyShips[i];
+            this.deriving[i] = this.level.isPositionEntityTicking(skyShip.blockPosition()) &&
+                    skyShip.getEnvironment().prepare(this.level, skyShip, skyShip.getBoundingBox());
+            if (this.deriving[i]) {
+                deriving++;
+            }
+        }
+
+        if (deriving >= SkyShipsConfig.PARALLEL_ENVIRONMENT_THRESHOLD.get()) {
+            IntStream.range(0, this.size)
+                    .parallel()
+                    .filter(i -> this.deriving[i])
+                    .forEach(i -> this.skyShips[i].getEnvironment().derive());
+        } else {
+            for (int i = 0; i < this.size; i++) {
+                if (this.deriving[i]) {
+                    this.skyShips[i].getEnvironment().derive();
+                }
+            }
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            SkyShip skyShip = this.skyShips[i];
+            if (this.deriving[i]) {
+                skyShip.getEnvironment().finish(this.level, skyShip);
+                skyShip.sampleDerivedStatus();
+            } else if (this.level.isPositionEntityTicking(skyShip.blockPosition())) {
+                //Ships that weren't derived still hold the status from their last sample
+                skyShip.sampleDerivedStatus();
+            }
+        }
+    }
+
+    /**
+     * Sends the level's ship positions to players, once every ship has ticked.
+     */
+    public void sendUpdates() {
+        for (int i = 0; i < this.size; i++) {
+            this.sync.add(this.skyShips[i]);
+        }
+        this.sync.send();
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public SkyShip get(int index) {
+        return this.skyShips[index];
+    }
+
+    public void tick() {
+        ProfilerFiller profiler = this.level.getProfiler();
+        profiler.push("skyShips");
+
+        profiler.push("environment");
+        if (SkyShipsConfig.PARALLEL_ENVIRONMENT.get()) {
+            this.sampleParallel();
+        } else {
+            for (int i = 0; i < this.size; i++) {
+                SkyShip skyShip = this.skyShips[i];
+                if (this.level.isPositionEntityTicking(skyShip.blockPosition())) {
+                    skyShip.sampleStatus();
+                }
+            }
+        }
+
+        profiler.popPush("float");
+        for (int i = 0; i < this.size; i++) {
+            SkyShip skyShip = this.skyShips[i];
+            this.floating[i] = skyShip.canBatchFloat();
+            if (this.floating[i]) {
+                SkyShipStatus status = skyShip.getSampledStatus();
+                Vec3 deltaMovement = skyShip.getDeltaMovement();
+                this.motion[i * 3] = deltaMovement.x;
+                this.motion[i * 3 + 1] = deltaMovement.y;
+                this.motion[i * 3 + 2] = deltaMovement.z;
+                this.friction[i] = skyShip.getFloatFriction(status);
+                this.lift[i] = skyShip.getFloatLift(status);
+                this.buoyancy[i] = skyShip.getFloatBuoyancy(status);
+            }
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            if (this.floating[i]) {
+                this.motion[i * 3] *= this.friction[i];
+                this.motion[i * 3 + 1] = SkyShip.floatVertical(this.motion[i * 3 + 1], this.lift[i], this.buoyancy[i]);
+                this.motion[i * 3 + 2] *= this.friction[i];
+            }
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            if (this.floating[i]) {
+                this.skyShips[i].setBatchedFloat(this.motion[i * 3], this.motion[i * 3 + 1], this.motion[i * 3 + 2], this.friction[i]);
+            }
+        }
+
+        profiler.pop();
+        profiler.pop();
+    }
+}
@@ -0,0 +1,107 @@
+package xyz.brassgoggledcoders.skyships.level;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import xyz.brassgoggledcoders.skyships.SkyShips;
+import xyz.brassgoggledcoders.skyships.config.SkyShipsConfig;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+import xyz.brassgoggledcoders.skyships.network.SkyShipFleetPacket;
+
+/**
+ * Sends ship updates to the players tracking them, at full rate to nearby players and less often the further away a
+ * player is, in place of vanilla's single rate for every player tracking the ship. Each player gets every update they
+ * are due in a tick as one {@link SkyShipFleetPacket}.
+ */
+public class SkyShipSync {
+    /**
+     * The update interval for entity types synced here, so vanilla never sends a move on its own schedule. Its tracker
+     * still sends one when it starts tracking a ship, and whenever the ship's entity data changes, such as its custom
+     * name or on fire flag. Those carry the ship's real position, so clients take them as one more step to interpolate
+     * towards. It would also send one for an impulse, which {@link SkyShip#push(double, double, double)} clears.
+     */
+    public static final int VANILLA_UPDATE_INTERVAL = Integer.MAX_VALUE;
+
+    private static final int REPORT_INTERVAL = 6000;
+
+    private final ServerLevel level;
+    private final Reference2ObjectMap<ServerPlayer, SkyShipFleetPacket> fleets = new Reference2ObjectOpenHashMap<>();
+
+    private int ticks;
+    private long fullRateBytes;
+    private long sentBytes;
+    private long sentPackets;
+
+    public SkyShipSync(ServerLevel level) {
+        this.level = level;
+    }
+
+    public void add(SkyShip skyShip) {
+        int ticksSinceChanged = skyShip.getTicksSinceChanged();
+        int nearInterval = SkyShipsConfig.NEAR_UPDATE_INTERVAL.get();
+        int midInterval = SkyShipsConfig.MID_UPDATE_INTERVAL.get();
+        int farInterval = SkyShipsConfig.FAR_UPDATE_INTERVAL.get();
+        //Ships riding a hook are moved by clients along with it
+        if (skyShip.isRemoved() || skyShip.isDormant() || skyShip.isPassenger() || ticksSinceChanged >= Math.max(nearInterval, Math.max(midInterval, farInterval))) {
+            return;
+        }
+
+        double nearDistance = SkyShipsConfig.NEAR_UPDATE_DISTANCE.get();
+        double midDistance = SkyShipsConfig.MID_UPDATE_DISTANCE.get();
+        int tick = skyShip.tickCount + skyShip.getId();
+
+        for (ServerPlayer player : skyShip.getSeenBy()) {
+            if (player == skyShip.getControllingPassenger()) {
+                continue;
+            }
+
+            double distance = player.distanceToSqr(skyShip);
+            int interval;
+            if (distance <= nearDistance * nearDistance) {
+                interval = nearInterval;
+            } else if (distance <= midDistance * midDistance) {
+                interval = midInterval;
+            } else {
+                interval = farInterval;
+            }
+
+            //Counted against every player getting the near rate, each update in a packet of its own
+            if (tick % nearInterval == 0 && ticksSinceChanged < nearInterval) {
+                this.fullRateBytes += SkyShipFleetPacket.getSingleSize(skyShip, player.blockPosition());
+            }
+
+            //Keeps sending until a tier has had an update since the ship last changed, so it sees where the ship stopped
+            if (tick % interval == 0 && ticksSinceChanged < interval) {
+                SkyShipFleetPacket fleet = this.fleets.get(player);
+                if (fleet == null) {
+                    fleet = new SkyShipFleetPacket(player.blockPosition());
+                    this.fleets.put(player, fleet);
+                }
+                fleet.add(skyShip);
+            }
+        }
+    }
+
+    public void send() {
+        for (Reference2ObjectMap.Entry<ServerPlayer, SkyShipFleetPacket> entry : this.fleets.reference2ObjectEntrySet()) {
+            SkyShips.networkHandler.sendSkyShipFleet(entry.getKey(), entry.getValue());
+            this.sentBytes += entry.getValue().getEncodedSize();
+            this.sentPackets++;
+        }
+        this.fleets.clear();
+
+        if (++this.ticks >= REPORT_INTERVAL) {
+            if (this.fullRateBytes > 0) {
+                SkyShips.LOGGER.debug("Sent {} bytes of sky ship updates in {} packets in {}, saving {} of {} bytes ({}%)",
+                        this.sentBytes, this.sentPackets, this.level.dimension().location(),
+                        this.fullRateBytes - this.sentBytes, this.fullRateBytes,
+                        100L - this.sentBytes * 100L / this.fullRateBytes);
+            }
+            this.ticks = 0;
+            this.fullRateBytes = 0;
+            this.sentBytes = 0;
+            this.sentPackets = 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package xyz.brassgoggledcoders.skyships.level;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+import xyz.brassgoggledcoders.skyships.entity.SkyShipEnvironment;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Indexes the ships in a level by the chunks their sampled surroundings cover, so block changes only need to
+ * notify the ships that could be affected by them.
+ */
+public class SkyShipTracker {
+    private static final Map<LevelAccessor, SkyShipTracker> TRACKERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Long2ObjectMap<Set<SkyShip>> shipsByChunk = new Long2ObjectOpenHashMap<>();
+    private final Reference2ObjectMap<SkyShip, int[]> trackedChunks = new Reference2ObjectOpenHashMap<>();
+
+    public static SkyShipTracker get(LevelAccessor level) {
+        return TRACKERS.computeIfAbsent(level, key -> new SkyShipTracker());
+    }
+
+    @Nullable
+    public static SkyShipTracker getIfPresent(LevelAccessor level) {
+        return TRACKERS.get(level);
+    }
+
+    public static void remove(LevelAccessor level) {
+        TRACKERS.remove(level);
+    }
+
+    public void track(SkyShip skyShip) {
+        SkyShipEnvironment environment = skyShip.getEnvironment();
+        int minX = environment.getMinChunkX();
+        int maxX = environment.getMaxChunkX();
+        int minZ = environment.getMinChunkZ();
+        int maxZ = environment.getMaxChunkZ();
+
+        int[] chunks = this.trackedChunks.get(skyShip);
+        if (chunks == null) {
+            chunks = new int[4];
+            this.trackedChunks.put(skyShip, chunks);
+        } else if (chunks[0] == minX && chunks[1] == maxX && chunks[2] == minZ && chunks[3] == maxZ) {
+            return;
+        } else {
+            this.removeFromChunks(skyShip, chunks);
+        }
+
+        chunks[0] = minX;
+        chunks[1] = maxX;
+        chunks[2] = minZ;
+        chunks[3] = maxZ;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                this.shipsByChunk.computeIfAbsent(ChunkPos.asLong(x, z), key -> new ReferenceOpenHashSet<>())
+                        .add(skyShip);
+            }
+        }
+    }
+
+    public void untrack(SkyShip skyShip) {
+        int[] chunks = this.trackedChunks.remove(skyShip);
+        if (chunks != null) {
+            this.removeFromChunks(skyShip, chunks);
+        }
+    }
+
+    public void onBlockChanged(BlockPos pos) {
+        Set<SkyShip> skyShips = this.shipsByChunk.get(ChunkPos.asLong(
+                SectionPos.blockToSectionCoord(pos.getX()),
+                SectionPos.blockToSectionCoord(pos.getZ())
+        ));
+        if (skyShips != null) {
+            for (SkyShip skyShip : skyShips) {
+                skyShip.onNearbyBlockChanged(pos);
+            }
+        }
+    }
+
+    private void removeFromChunks(SkyShip skyShip, int[] chunks) {
+        for (int x = chunks[0]; x <= chunks[1]; x++) {
+            for (int z = chunks[2]; z <= chunks[3]; z++) {
+                long chunkPos = ChunkPos.asLong(x, z);
+                Set<SkyShip> skyShips = this.shipsByChunk.get(chunkPos);
+                if (skyShips != null && skyShips.remove(skyShip) && skyShips.isEmpty()) {
+                    this.shipsByChunk.remove(chunkPos);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package xyz.brassgoggledcoders.skyships.network;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+
+public class ClientPacketHandler {
+    public static void handleSkyShipCorrection(SkyShipCorrectionPacket packet) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level != null && level.getEntity(packet.getEntityId()) instanceof SkyShip skyShip) {
+            skyShip.reconcile(packet);
+        }
+    }
+
+    public static void handleSkyShipFleet(SkyShipFleetPacket packet) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level != null) {
+            for (int i = 0; i < packet.size(); i++) {
+                if (level.getEntity(packet.getEntityId(i)) instanceof SkyShip skyShip && !skyShip.isPredicting()) {
+                    skyShip.lerpTo(packet.getX(i), packet.getY(i), packet.getZ(i), packet.getYRot(i), packet.getXRot(i), 3, false);
+                    skyShip.setPaddleControl(packet.getControl(i));
+                }
+            }
+        }
+    }
+
+    public static void handleSkyShipHit(SkyShipHitPacket packet) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level != null && level.getEntity(packet.getEntityId()) instanceof SkyShip skyShip) {
+            skyShip.handleHit(packet.getHurtDir(), packet.getDamage());
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package xyz.brassgoggledcoders.skyships.network;
 
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.PacketDistributor;
 import net.minecraftforge.network.simple.SimpleChannel;
 import xyz.brassgoggledcoders.skyships.SkyShips;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
 
 public class NetworkHandler {
     private final SimpleChannel channel;
@@ -19,11 +21,42 @@ public class NetworkHandler {
         this.channel.messageBuilder(UpdateSkyShipControlPacket.class, 0)
                 .encoder(UpdateSkyShipControlPacket::encode)
                 .decoder(UpdateSkyShipControlPacket::decode)
-                .consumerMainThread(UpdateSkyShipControlPacket::consume)
+                .consumerNetworkThread(UpdateSkyShipControlPacket::consume)
                 .add();
+
+        this.channel.messageBuilder(SkyShipCorrectionPacket.class, 1)
+                .encoder(SkyShipCorrectionPacket::encode)
+                .decoder(SkyShipCorrectionPacket::decode)
+                .consumerMainThread(SkyShipCorrectionPacket::consume)
+                .add();
+
+        this.channel.messageBuilder(SkyShipHitPacket.class, 2)
+                .encoder(SkyShipHitPacket::encode)
+                .decoder(SkyShipHitPacket::decode)
+                .consumerMainThread(SkyShipHitPacket::consume)
+                .add();
+
+        this.channel.messageBuilder(SkyShipFleetPacket.class, 3)
+                .encoder(SkyShipFleetPacket::encode)
+                .decoder(SkyShipFleetPacket::decode)
+                .consumerMainThread(SkyShipFleetPacket::consume)
+                .add();
+    }
+
+    public void updateSkyShipControl(byte control, int sequence, double x, double y, double z, float yRot) {
+        this.channel.send(PacketDistributor.SERVER.noArg(), new UpdateSkyShipControlPacket(control, sequence, x, y, z, yRot));
+    }
+
+    public void sendSkyShipHit(SkyShip skyShip) {
+        this.channel.send(PacketDistributor.TRACKING_ENTITY.with(() -> skyShip),
+                new SkyShipHitPacket(skyShip.getId(), skyShip.getHurtDir(), skyShip.getDamage()));
+    }
+
+    public void sendSkyShipFleet(ServerPlayer player, SkyShipFleetPacket fleet) {
+        this.channel.send(PacketDistributor.PLAYER.with(() -> player), fleet);
     }
 
-    public void updateSkyShipControl(boolean left, boolean right, int vertical) {
-        this.channel.send(PacketDistributor.SERVER.noArg(), new UpdateSkyShipControlPacket(left, right, vertical));
+    public void correctSkyShip(ServerPlayer player, SkyShipCorrectionPacket correction) {
+        this.channel.send(PacketDistributor.PLAYER.with(() -> player), correction);
     }
 }
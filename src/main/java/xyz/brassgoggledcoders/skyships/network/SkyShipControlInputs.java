@@ -0,0 +1,63 @@
+package xyz.brassgoggledcoders.skyships.network;
+
+import net.minecraft.world.entity.player.Player;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the latest control each player has sent, written from the network thread and taken by the ship they pilot
+ * when it ticks. Newer control replaces anything not yet taken, so bursts of packets never queue up on the server
+ * thread, and a ship acts on at most one control a tick however many arrive. The newest control is always kept, so a
+ * released key is never left held.
+ */
+public class SkyShipControlInputs {
+    private static final Map<UUID, Slot> SLOTS = new ConcurrentHashMap<>();
+
+    public static void offer(Player player, UpdateSkyShipControlPacket control) {
+        Slot slot = SLOTS.computeIfAbsent(player.getUUID(), uuid -> new Slot());
+        synchronized (slot) {
+            slot.control = control;
+        }
+    }
+
+    /**
+     * Takes the player's latest control, or null when nothing has arrived since it was last taken.
+     */
+    @Nullable
+    public static UpdateSkyShipControlPacket take(Player player) {
+        Slot slot = SLOTS.get(player.getUUID());
+        if (slot == null) {
+            return null;
+        }
+
+        synchronized (slot) {
+            UpdateSkyShipControlPacket control = slot.control;
+            slot.control = null;
+            return control;
+        }
+    }
+
+    /**
+     * Throws away control that hasn't been taken yet, for when the player starts piloting a ship afresh.
+     */
+    public static void clear(Player player) {
+        Slot slot = SLOTS.get(player.getUUID());
+        if (slot != null) {
+            synchronized (slot) {
+                slot.control = null;
+            }
+        }
+    }
+
+    public static void remove(Player player) {
+        SLOTS.remove(player.getUUID());
+    }
+
+    private static class Slot {
+        @Nullable
+        private UpdateSkyShipControlPacket control;
+    }
+}
@@ -0,0 +1,107 @@
+package xyz.brassgoggledcoders.skyships.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+public class SkyShipCorrectionPacket {
+    private final int entityId;
+    private final int sequence;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float yRot;
+    private final double deltaX;
+    private final double deltaY;
+    private final double deltaZ;
+    private final float deltaRotation;
+
+    public SkyShipCorrectionPacket(int entityId, int sequence, double x, double y, double z, float yRot,
+                                   double deltaX, double deltaY, double deltaZ, float deltaRotation) {
+        this.entityId = entityId;
+        this.sequence = sequence;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yRot = yRot;
+        this.deltaX = deltaX;
+        this.deltaY = deltaY;
+        this.deltaZ = deltaZ;
+        this.deltaRotation = deltaRotation;
+    }
+
+    public void encode(FriendlyByteBuf packetBuffer) {
+        packetBuffer.writeVarInt(this.entityId);
+        packetBuffer.writeVarInt(this.sequence);
+        packetBuffer.writeDouble(this.x);
+        packetBuffer.writeDouble(this.y);
+        packetBuffer.writeDouble(this.z);
+        packetBuffer.writeFloat(this.yRot);
+        packetBuffer.writeDouble(this.deltaX);
+        packetBuffer.writeDouble(this.deltaY);
+        packetBuffer.writeDouble(this.deltaZ);
+        packetBuffer.writeFloat(this.deltaRotation);
+    }
+
+    public void consume(Supplier<NetworkEvent.Context> contextSupplier) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientPacketHandler.handleSkyShipCorrection(this));
+    }
+
+    public static SkyShipCorrectionPacket decode(FriendlyByteBuf packetBuffer) {
+        return new SkyShipCorrectionPacket(
+                packetBuffer.readVarInt(),
+                packetBuffer.readVarInt(),
+                packetBuffer.readDouble(),
+                packetBuffer.readDouble(),
+                packetBuffer.readDouble(),
+                packetBuffer.readFloat(),
+                packetBuffer.readDouble(),
+                packetBuffer.readDouble(),
+                packetBuffer.readDouble(),
+                packetBuffer.readFloat()
+        );
+    }
+
+    public int getEntityId() {
+        return this.entityId;
+    }
+
+    public int getSequence() {
+        return this.sequence;
+    }
+
+    public double getX() {
+        return this.x;
+    }
+
+    public double getY() {
+        return this.y;
+    }
+
+    public double getZ() {
+        return this.z;
+    }
+
+    public float getYRot() {
+        return this.yRot;
+    }
+
+    public double getDeltaX() {
+        return this.deltaX;
+    }
+
+    public double getDeltaY() {
+        return this.deltaY;
+    }
+
+    public double getDeltaZ() {
+        return this.deltaZ;
+    }
+
+    public float getDeltaRotation() {
+        return this.deltaRotation;
+    }
+}
@@ -0,0 +1,164 @@
+package xyz.brassgoggledcoders.skyships.network;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.util.Mth;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Every ship update a player is due in a tick, sent as one packet. Positions are quantized to 1/4096 of a block, the
+ * same as vanilla's relative moves, and sent relative to an origin near the player so nearby ships take few bytes.
+ */
+public class SkyShipFleetPacket {
+    private static final double POSITION_SCALE = 4096.0D;
+    //The origin, then the entry count
+    private static final int HEADER_SIZE = Long.BYTES + 1;
+
+    private final BlockPos origin;
+    private int size;
+    private int encodedSize = HEADER_SIZE;
+    private int[] entityIds;
+    private int[] positions;
+    private byte[] rotations;
+    private byte[] controls;
+
+    public SkyShipFleetPacket(BlockPos origin) {
+        this(origin, 8);
+    }
+
+    private SkyShipFleetPacket(BlockPos origin, int capacity) {
+        this.origin = origin;
+        this.entityIds = new int[capacity];
+        this.positions = new int[capacity * 3];
+        this.rotations = new byte[capacity * 2];
+        this.controls = new byte[capacity];
+    }
+
+    public void add(SkyShip skyShip) {
+        if (this.size == this.entityIds.length) {
+            int capacity = this.size * 2;
+            this.entityIds = Arrays.copyOf(this.entityIds, capacity);
+            this.positions = Arrays.copyOf(this.positions, capacity * 3);
+            this.rotations = Arrays.copyOf(this.rotations, capacity * 2);
+            this.controls = Arrays.copyOf(this.controls, capacity);
+        }
+
+        this.entityIds[this.size] = skyShip.getId();
+        this.positions[this.size * 3] = quantize(skyShip.getX(), this.origin.getX());
+        this.positions[this.size * 3 + 1] = quantize(skyShip.getY(), this.origin.getY());
+        this.positions[this.size * 3 + 2] = quantize(skyShip.getZ(), this.origin.getZ());
+        this.rotations[this.size * 2] = (byte) Mth.floor(skyShip.getYRot() * 256.0F / 360.0F);
+        this.rotations[this.size * 2 + 1] = (byte) Mth.floor(skyShip.getXRot() * 256.0F / 360.0F);
+        this.controls[this.size] = skyShip.getPaddleControl();
+        this.encodedSize += getEntrySize(skyShip, this.origin);
+        this.size++;
+    }
+
+    /**
+     * Bytes the packet's payload takes once encoded.
+     */
+    public int getEncodedSize() {
+        return this.encodedSize + FriendlyByteBuf.getVarIntSize(this.size) - 1;
+    }
+
+    /**
+     * Bytes the ship's entry takes in a packet with the given origin.
+     */
+    public static int getEntrySize(SkyShip skyShip, BlockPos origin) {
+        return FriendlyByteBuf.getVarIntSize(skyShip.getId()) +
+                getPositionSize(quantize(skyShip.getX(), origin.getX())) +
+                getPositionSize(quantize(skyShip.getY(), origin.getY())) +
+                getPositionSize(quantize(skyShip.getZ(), origin.getZ())) + 3;
+    }
+
+    /**
+     * Bytes a packet holding only the ship's entry takes, as every update would if each went out on its own.
+     */
+    public static int getSingleSize(SkyShip skyShip, BlockPos origin) {
+        return HEADER_SIZE + getEntrySize(skyShip, origin);
+    }
+
+    private static int getPositionSize(int position) {
+        return FriendlyByteBuf.getVarIntSize(position << 1 ^ position >> 31);
+    }
+
+    public void encode(FriendlyByteBuf packetBuffer) {
+        packetBuffer.writeBlockPos(this.origin);
+        packetBuffer.writeVarInt(this.size);
+        for (int i = 0; i < this.size; i++) {
+            packetBuffer.writeVarInt(this.entityIds[i]);
+            for (int axis = 0; axis < 3; axis++) {
+                int position = this.positions[i * 3 + axis];
+                //Zigzag, so ships on the negative side of the origin don't take the full five bytes
+                packetBuffer.writeVarInt(position << 1 ^ position >> 31);
+            }
+            packetBuffer.writeByte(this.rotations[i * 2]);
+            packetBuffer.writeByte(this.rotations[i * 2 + 1]);
+            packetBuffer.writeByte(this.controls[i]);
+        }
+    }
+
+    public void consume(Supplier<NetworkEvent.Context> contextSupplier) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientPacketHandler.handleSkyShipFleet(this));
+    }
+
+    public static SkyShipFleetPacket decode(FriendlyByteBuf packetBuffer) {
+        BlockPos origin = packetBuffer.readBlockPos();
+        int size = packetBuffer.readVarInt();
+        SkyShipFleetPacket packet = new SkyShipFleetPacket(origin, Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            packet.entityIds[i] = packetBuffer.readVarInt();
+            for (int axis = 0; axis < 3; axis++) {
+                int position = packetBuffer.readVarInt();
+                packet.positions[i * 3 + axis] = position >>> 1 ^ -(position & 1);
+            }
+            packet.rotations[i * 2] = packetBuffer.readByte();
+            packet.rotations[i * 2 + 1] = packetBuffer.readByte();
+            packet.controls[i] = packetBuffer.readByte();
+        }
+        packet.size = size;
+        return packet;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int getEntityId(int index) {
+        return this.entityIds[index];
+    }
+
+    public double getX(int index) {
+        return this.origin.getX() + this.positions[index * 3] / POSITION_SCALE;
+    }
+
+    public double getY(int index) {
+        return this.origin.getY() + this.positions[index * 3 + 1] / POSITION_SCALE;
+    }
+
+    public double getZ(int index) {
+        return this.origin.getZ() + this.positions[index * 3 + 2] / POSITION_SCALE;
+    }
+
+    public float getYRot(int index) {
+        return (float) (this.rotations[index * 2] * 360) / 256.0F;
+    }
+
+    public float getXRot(int index) {
+        return (float) (this.rotations[index * 2 + 1] * 360) / 256.0F;
+    }
+
+    public byte getControl(int index) {
+        return this.controls[index];
+    }
+
+    private static int quantize(double position, int origin) {
+        return (int) Math.round((position - origin) * POSITION_SCALE);
+    }
+}
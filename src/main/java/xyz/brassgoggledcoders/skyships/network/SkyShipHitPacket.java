@@ -0,0 +1,50 @@
+package xyz.brassgoggledcoders.skyships.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+public class SkyShipHitPacket {
+    private final int entityId;
+    private final int hurtDir;
+    private final float damage;
+
+    public SkyShipHitPacket(int entityId, int hurtDir, float damage) {
+        this.entityId = entityId;
+        this.hurtDir = hurtDir;
+        this.damage = damage;
+    }
+
+    public void encode(FriendlyByteBuf packetBuffer) {
+        packetBuffer.writeVarInt(this.entityId);
+        packetBuffer.writeBoolean(this.hurtDir < 0);
+        packetBuffer.writeFloat(this.damage);
+    }
+
+    public void consume(Supplier<NetworkEvent.Context> contextSupplier) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientPacketHandler.handleSkyShipHit(this));
+    }
+
+    public static SkyShipHitPacket decode(FriendlyByteBuf packetBuffer) {
+        return new SkyShipHitPacket(
+                packetBuffer.readVarInt(),
+                packetBuffer.readBoolean() ? -1 : 1,
+                packetBuffer.readFloat()
+        );
+    }
+
+    public int getEntityId() {
+        return this.entityId;
+    }
+
+    public int getHurtDir() {
+        return this.hurtDir;
+    }
+
+    public float getDamage() {
+        return this.damage;
+    }
+}
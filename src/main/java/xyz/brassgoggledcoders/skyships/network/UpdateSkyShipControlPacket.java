@@ -3,45 +3,102 @@ package xyz.brassgoggledcoders.skyships.network;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.network.NetworkEvent;
-import xyz.brassgoggledcoders.skyships.entity.SkyShip;
 
 import java.util.function.Supplier;
 
 public class UpdateSkyShipControlPacket {
-    private final boolean left;
-    private final boolean right;
-    private final int vertical;
+    private static final int LEFT = 1;
+    private static final int RIGHT = 1 << 1;
+    private static final int UP = 1 << 2;
+    private static final int DOWN = 1 << 3;
+    private static final int VERTICAL_SHIFT = 4;
+    private static final int VERTICAL_MASK = 0b11;
 
-    public UpdateSkyShipControlPacket(boolean left, boolean right, int up) {
-        this.left = left;
-        this.right = right;
-        this.vertical = up;
+    private final byte control;
+    private final int sequence;
+    //Where the pilot's client predicted the ship would be after the tick it used the control on
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float yRot;
+
+    public UpdateSkyShipControlPacket(byte control, int sequence, double x, double y, double z, float yRot) {
+        this.control = control;
+        this.sequence = sequence;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yRot = yRot;
     }
 
     public void encode(FriendlyByteBuf packetBuffer) {
-        packetBuffer.writeBoolean(this.left);
-        packetBuffer.writeBoolean(this.right);
-        packetBuffer.writeInt(this.vertical);
+        packetBuffer.writeByte(this.control);
+        packetBuffer.writeVarInt(this.sequence);
+        packetBuffer.writeDouble(this.x);
+        packetBuffer.writeDouble(this.y);
+        packetBuffer.writeDouble(this.z);
+        packetBuffer.writeFloat(this.yRot);
     }
 
     public void consume(Supplier<NetworkEvent.Context> contextSupplier) {
         ServerPlayer player = contextSupplier.get().getSender();
-        if (player != null && player.getVehicle() instanceof SkyShip) {
-            ((SkyShip) player.getVehicle()).setPaddleState(
-                    left,
-                    right,
-                    vertical
-            );
+        if (player != null) {
+            SkyShipControlInputs.offer(player, this);
         }
+        contextSupplier.get().setPacketHandled(true);
     }
 
     public static UpdateSkyShipControlPacket decode(FriendlyByteBuf packetBuffer) {
-        return new UpdateSkyShipControlPacket(
-                packetBuffer.readBoolean(),
-                packetBuffer.readBoolean(),
-                packetBuffer.readInt()
-        );
+        return new UpdateSkyShipControlPacket(packetBuffer.readByte(), packetBuffer.readVarInt(), packetBuffer.readDouble(),
+                packetBuffer.readDouble(), packetBuffer.readDouble(), packetBuffer.readFloat());
+    }
+
+    public byte getControl() {
+        return this.control;
+    }
+
+    public int getSequence() {
+        return this.sequence;
+    }
+
+    public double getX() {
+        return this.x;
+    }
+
+    public double getY() {
+        return this.y;
     }
 
+    public double getZ() {
+        return this.z;
+    }
+
+    public float getYRot() {
+        return this.yRot;
+    }
 
+    public static byte pack(boolean left, boolean right, boolean up, boolean down, int vertical) {
+        return (byte) ((left ? LEFT : 0) | (right ? RIGHT : 0) | (up ? UP : 0) | (down ? DOWN : 0) |
+                (Integer.compare(vertical, 0) + 1) << VERTICAL_SHIFT);
+    }
+
+    public static boolean isLeft(byte control) {
+        return (control & LEFT) != 0;
+    }
+
+    public static boolean isRight(byte control) {
+        return (control & RIGHT) != 0;
+    }
+
+    public static boolean isUp(byte control) {
+        return (control & UP) != 0;
+    }
+
+    public static boolean isDown(byte control) {
+        return (control & DOWN) != 0;
+    }
+
+    public static int getVertical(byte control) {
+        return Math.min((control >> VERTICAL_SHIFT) & VERTICAL_MASK, 2) - 1;
+    }
 }
@@ -14,17 +14,24 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @SuppressWarnings("unused")
 public class BalloonModel<T extends SkyShip> extends EntityModel<T> {
     private final ModelPart balloon;
+    private final ModelPart shell;
+    private final ModelPart leftLines;
+    private final ModelPart rightLines;
 
     public BalloonModel(ModelPart root) {
         this.balloon = root.getChild("balloon");
+        this.shell = this.balloon.getChild("shell");
+        this.leftLines = this.balloon.getChild("leftLines");
+        this.rightLines = this.balloon.getChild("rightLines");
     }
 
     public static LayerDefinition createBodyLayer() {
         MeshDefinition meshdefinition = new MeshDefinition();
         PartDefinition partdefinition = meshdefinition.getRoot();
 
-        PartDefinition balloon = partdefinition.addOrReplaceChild("balloon", CubeListBuilder.create().texOffs(0, 64).addBox(-16.0F, -57.0F, -16.0F, 32.0F, 32.0F, 32.0F, new CubeDeformation(0.0F))
-                .texOffs(0, 0).addBox(-16.0F, -57.0F, -16.0F, 32.0F, 32.0F, 32.0F, new CubeDeformation(0.25F)), PartPose.offset(0.0F, 24.0F, 0.0F));
+        PartDefinition balloon = partdefinition.addOrReplaceChild("balloon", CubeListBuilder.create().texOffs(0, 64).addBox(-16.0F, -57.0F, -16.0F, 32.0F, 32.0F, 32.0F, new CubeDeformation(0.0F)), PartPose.offset(0.0F, 24.0F, 0.0F));
+
+        PartDefinition shell = balloon.addOrReplaceChild("shell", CubeListBuilder.create().texOffs(0, 0).addBox(-16.0F, -57.0F, -16.0F, 32.0F, 32.0F, 32.0F, new CubeDeformation(0.25F)), PartPose.ZERO);
 
         PartDefinition leftLines = balloon.addOrReplaceChild("leftLines", CubeListBuilder.create().texOffs(12, 0).addBox(23.5F, -12.5F, 0.0F, 2.0F, 25.0F, 0.01F, new CubeDeformation(0.0F))
                 .texOffs(8, 0).addBox(5.5F, -12.5F, 0.0F, 2.0F, 25.0F, 0.01F, new CubeDeformation(0.0F)), PartPose.offsetAndRotation(-15.75F, -12.6759F, -13.0148F, 0.2618F, 0.0F, 0.0F));
@@ -35,6 +42,24 @@ public class BalloonModel<T extends SkyShip> extends EntityModel<T> {
         return LayerDefinition.create(meshdefinition, 128, 128);
     }
 
+    public SkyShipMesh bakeMesh() {
+        return SkyShipMesh.bake(this.balloon);
+    }
+
+    /**
+     * The balloon without its inflated outer shell and rope planes, for ships seen from a distance.
+     */
+    public SkyShipMesh bakeSimplifiedMesh() {
+        this.shell.visible = false;
+        this.leftLines.visible = false;
+        this.rightLines.visible = false;
+        SkyShipMesh mesh = SkyShipMesh.bake(this.balloon);
+        this.shell.visible = true;
+        this.leftLines.visible = true;
+        this.rightLines.visible = true;
+        return mesh;
+    }
+
     @Override
     public void setupAnim(@Nonnull T entity, float limbSwing, float limbSwingAmount, float ageInTicks, float netHeadYaw, float headPitch) {
 
@@ -57,6 +57,10 @@ public class GondolaModel<T extends SkyShip> extends EntityModel<T> {
         return LayerDefinition.create(meshdefinition, 128, 128);
     }
 
+    public SkyShipMesh bakeMesh() {
+        return SkyShipMesh.bake(this.boat);
+    }
+
     @Override
     public void setupAnim(@Nonnull T entity, float limbSwing, float limbSwingAmount, float ageInTicks, float netHeadYaw, float headPitch) {
 
@@ -0,0 +1,52 @@
+package xyz.brassgoggledcoders.skyships.renderer;
+
+import net.minecraft.client.renderer.texture.TextureAtlas;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.client.resources.TextureAtlasHolder;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.profiling.ProfilerFiller;
+import xyz.brassgoggledcoders.skyships.SkyShips;
+
+import javax.annotation.Nonnull;
+import java.util.stream.Stream;
+
+/**
+ * Every sky ship part texture stitched into one atlas at resource reload, so a whole ship can be drawn through a
+ * single render type. Sprites are named after their file in {@code textures/entity}.
+ */
+public class SkyShipAtlas extends TextureAtlasHolder {
+    public static final ResourceLocation LOCATION = SkyShips.rl("textures/atlas/sky_ships.png");
+
+    public static final ResourceLocation BALLOON_WHITE = SkyShips.rl("balloon_white");
+    public static final ResourceLocation STEERING_OAK = SkyShips.rl("steering_oak");
+    public static final ResourceLocation GONDOLA_OAK = SkyShips.rl("gondola_oak");
+
+    private static SkyShipAtlas instance;
+
+    private SkyShipAtlas(TextureManager textureManager) {
+        super(textureManager, LOCATION, "entity");
+    }
+
+    public static SkyShipAtlas create(TextureManager textureManager) {
+        instance = new SkyShipAtlas(textureManager);
+        return instance;
+    }
+
+    public static TextureAtlasSprite sprite(ResourceLocation name) {
+        return instance.getSprite(name);
+    }
+
+    @Override
+    protected void apply(@Nonnull TextureAtlas.Preparations preparations, @Nonnull ResourceManager resourceManager, @Nonnull ProfilerFiller profiler) {
+        super.apply(preparations, resourceManager, profiler);
+        SkyShipInstancer.reset();
+    }
+
+    @Override
+    @Nonnull
+    protected Stream<ResourceLocation> getResourcesToLoad() {
+        return Stream.of(BALLOON_WHITE, STEERING_OAK, GONDOLA_OAK);
+    }
+}
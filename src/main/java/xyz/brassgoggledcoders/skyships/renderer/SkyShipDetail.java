@@ -0,0 +1,22 @@
+package xyz.brassgoggledcoders.skyships.renderer;
+
+import xyz.brassgoggledcoders.skyships.config.SkyShipsConfig;
+
+public enum SkyShipDetail {
+    FULL,
+    SIMPLIFIED,
+    IMPOSTOR;
+
+    public static SkyShipDetail forDistanceSqr(double distanceSqr) {
+        double impostorDistance = SkyShipsConfig.IMPOSTOR_DISTANCE.get();
+        if (distanceSqr >= impostorDistance * impostorDistance) {
+            return IMPOSTOR;
+        }
+
+        double simplifiedDistance = SkyShipsConfig.SIMPLIFIED_DETAIL_DISTANCE.get();
+        if (distanceSqr >= simplifiedDistance * simplifiedDistance) {
+            return SIMPLIFIED;
+        }
+        return FULL;
+    }
+}
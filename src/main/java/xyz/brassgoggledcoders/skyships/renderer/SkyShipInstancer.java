@@ -0,0 +1,258 @@
+package xyz.brassgoggledcoders.skyships.renderer;
+
+import com.google.common.collect.ImmutableMap;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexFormatElement;
+import com.mojang.math.Matrix4f;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.ShaderInstance;
+import net.minecraftforge.fml.ModList;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GL33;
+import org.lwjgl.system.MemoryUtil;
+import xyz.brassgoggledcoders.skyships.config.SkyShipsConfig;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Draws the baked static geometry of every visible sky ship of a variant in one instanced call after entities are
+ * rendered. The renderer only submits each ship's pose, tint and light; animated parts still go through the regular
+ * entity buffers. Shader packs and render mods that replace the pipeline get the regular path instead.
+ */
+public class SkyShipInstancer {
+    private static final VertexFormatElement ELEMENT_NORMAL = new VertexFormatElement(0, VertexFormatElement.Type.FLOAT, VertexFormatElement.Usage.NORMAL, 3);
+    private static final VertexFormatElement ELEMENT_INSTANCE_VEC4 = new VertexFormatElement(0, VertexFormatElement.Type.FLOAT, VertexFormatElement.Usage.GENERIC, 4);
+    private static final VertexFormatElement ELEMENT_INSTANCE_VEC2 = new VertexFormatElement(0, VertexFormatElement.Type.FLOAT, VertexFormatElement.Usage.GENERIC, 2);
+
+    public static final VertexFormat VERTEX_FORMAT = new VertexFormat(ImmutableMap.<String, VertexFormatElement>builder()
+            .put("Position", DefaultVertexFormat.ELEMENT_POSITION)
+            .put("UV0", DefaultVertexFormat.ELEMENT_UV0)
+            .put("Normal", ELEMENT_NORMAL)
+            .put("InstanceColumn0", ELEMENT_INSTANCE_VEC4)
+            .put("InstanceColumn1", ELEMENT_INSTANCE_VEC4)
+            .put("InstanceColumn2", ELEMENT_INSTANCE_VEC4)
+            .put("InstanceColumn3", ELEMENT_INSTANCE_VEC4)
+            .put("InstanceColor", ELEMENT_INSTANCE_VEC4)
+            .put("InstanceLight", ELEMENT_INSTANCE_VEC2)
+            .build()
+    );
+
+    private static final int VERTEX_FLOATS = SkyShipMesh.TRIANGLE_STRIDE;
+    private static final int INSTANCE_FLOATS = 16 + 4 + 2;
+    private static final int INITIAL_INSTANCES = 16;
+
+    private static final List<Batch> BATCHES = new ArrayList<>();
+
+    private static ShaderInstance shader;
+    private static Boolean supported;
+
+    public static void setShader(ShaderInstance shaderInstance) {
+        shader = shaderInstance;
+    }
+
+    public static boolean isActive() {
+        return shader != null && SkyShipsConfig.INSTANCED_RENDERING.get() && isSupported();
+    }
+
+    private static boolean isSupported() {
+        if (supported == null) {
+            supported = GL.getCapabilities().OpenGL33 && !ModList.get().isLoaded("oculus") && !isClassPresent("net.optifine.Config");
+        }
+        return supported;
+    }
+
+    private static boolean isClassPresent(String name) {
+        try {
+            Class.forName(name, false, SkyShipInstancer.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public static Batch createBatch(int vertexCount, Consumer<ByteBuffer> vertexWriter) {
+        Batch batch = new Batch(vertexCount, vertexWriter);
+        BATCHES.add(batch);
+        return batch;
+    }
+
+    public static void begin() {
+        for (Batch batch : BATCHES) {
+            batch.instanceCount = 0;
+        }
+    }
+
+    public static void draw() {
+        ShaderInstance shaderInstance = shader;
+        if (shaderInstance == null || BATCHES.stream().allMatch(batch -> batch.instanceCount == 0)) {
+            return;
+        }
+
+        LightTexture lightTexture = Minecraft.getInstance().gameRenderer.lightTexture();
+        RenderSystem.setShaderTexture(0, SkyShipAtlas.LOCATION);
+        lightTexture.turnOnLightLayer();
+        RenderSystem.enableDepthTest();
+        RenderSystem.disableCull();
+        RenderSystem.disableBlend();
+        BufferUploader.reset();
+
+        for (int i = 0; i < 12; ++i) {
+            shaderInstance.setSampler("Sampler" + i, RenderSystem.getShaderTexture(i));
+        }
+        if (shaderInstance.MODEL_VIEW_MATRIX != null) {
+            shaderInstance.MODEL_VIEW_MATRIX.set(RenderSystem.getModelViewMatrix());
+        }
+        if (shaderInstance.PROJECTION_MATRIX != null) {
+            shaderInstance.PROJECTION_MATRIX.set(RenderSystem.getProjectionMatrix());
+        }
+        if (shaderInstance.INVERSE_VIEW_ROTATION_MATRIX != null) {
+            shaderInstance.INVERSE_VIEW_ROTATION_MATRIX.set(RenderSystem.getInverseViewRotationMatrix());
+        }
+        if (shaderInstance.COLOR_MODULATOR != null) {
+            shaderInstance.COLOR_MODULATOR.set(RenderSystem.getShaderColor());
+        }
+        if (shaderInstance.FOG_START != null) {
+            shaderInstance.FOG_START.set(RenderSystem.getShaderFogStart());
+        }
+        if (shaderInstance.FOG_END != null) {
+            shaderInstance.FOG_END.set(RenderSystem.getShaderFogEnd());
+        }
+        if (shaderInstance.FOG_COLOR != null) {
+            shaderInstance.FOG_COLOR.set(RenderSystem.getShaderFogColor());
+        }
+        if (shaderInstance.FOG_SHAPE != null) {
+            shaderInstance.FOG_SHAPE.set(RenderSystem.getShaderFogShape().getIndex());
+        }
+        RenderSystem.setupShaderLights(shaderInstance);
+        shaderInstance.apply();
+
+        for (Batch batch : BATCHES) {
+            batch.draw();
+        }
+
+        shaderInstance.clear();
+        GlStateManager._glBindVertexArray(0);
+        lightTexture.turnOffLightLayer();
+        RenderSystem.enableCull();
+    }
+
+    public static void reset() {
+        RenderSystem.assertOnRenderThread();
+        for (Batch batch : BATCHES) {
+            batch.close();
+        }
+        BATCHES.clear();
+    }
+
+    public static class Batch {
+        private final int vertexArray;
+        private final int vertexBuffer;
+        private final int instanceBuffer;
+        private final int vertexCount;
+
+        private ByteBuffer instances;
+        private FloatBuffer instanceFloats;
+        private int instanceCount;
+        private boolean closed;
+
+        private Batch(int vertexCount, Consumer<ByteBuffer> vertexWriter) {
+            this.vertexCount = vertexCount;
+            this.vertexArray = GlStateManager._glGenVertexArrays();
+            this.vertexBuffer = GlStateManager._glGenBuffers();
+            this.instanceBuffer = GlStateManager._glGenBuffers();
+            this.instances = MemoryUtil.memAlloc(INITIAL_INSTANCES * INSTANCE_FLOATS * Float.BYTES);
+            this.instanceFloats = this.instances.asFloatBuffer();
+
+            BufferUploader.reset();
+            GlStateManager._glBindVertexArray(this.vertexArray);
+
+            ByteBuffer vertices = MemoryUtil.memAlloc(vertexCount * VERTEX_FLOATS * Float.BYTES);
+            try {
+                vertexWriter.accept(vertices);
+                vertices.flip();
+                GlStateManager._glBindBuffer(GL15.GL_ARRAY_BUFFER, this.vertexBuffer);
+                GlStateManager._glBufferData(GL15.GL_ARRAY_BUFFER, vertices, GL15.GL_STATIC_DRAW);
+            } finally {
+                MemoryUtil.memFree(vertices);
+            }
+            int vertexStride = VERTEX_FLOATS * Float.BYTES;
+            attribute(0, 3, vertexStride, 0, false);
+            attribute(1, 2, vertexStride, 3, false);
+            attribute(2, 3, vertexStride, 5, false);
+
+            GlStateManager._glBindBuffer(GL15.GL_ARRAY_BUFFER, this.instanceBuffer);
+            int instanceStride = INSTANCE_FLOATS * Float.BYTES;
+            for (int column = 0; column < 4; column++) {
+                attribute(3 + column, 4, instanceStride, column * 4, true);
+            }
+            attribute(7, 4, instanceStride, 16, true);
+            attribute(8, 2, instanceStride, 20, true);
+
+            GlStateManager._glBindVertexArray(0);
+        }
+
+        private static void attribute(int index, int size, int stride, int offsetFloats, boolean perInstance) {
+            GlStateManager._enableVertexAttribArray(index);
+            GlStateManager._vertexAttribPointer(index, size, GL11.GL_FLOAT, false, stride, (long) offsetFloats * Float.BYTES);
+            if (perInstance) {
+                GL33.glVertexAttribDivisor(index, 1);
+            }
+        }
+
+        public boolean isClosed() {
+            return this.closed;
+        }
+
+        public void add(Matrix4f pose, int color, int packedLight) {
+            if ((this.instanceCount + 1) * INSTANCE_FLOATS > this.instanceFloats.capacity()) {
+                this.instances = MemoryUtil.memRealloc(this.instances, this.instances.capacity() * 2);
+                this.instanceFloats = this.instances.asFloatBuffer();
+            }
+
+            int base = this.instanceCount++ * INSTANCE_FLOATS;
+            pose.store(this.instanceFloats.slice(base, 16));
+            this.instanceFloats.put(base + 16, (color >> 16 & 255) / 255.0F);
+            this.instanceFloats.put(base + 17, (color >> 8 & 255) / 255.0F);
+            this.instanceFloats.put(base + 18, (color & 255) / 255.0F);
+            this.instanceFloats.put(base + 19, (color >>> 24) / 255.0F);
+            this.instanceFloats.put(base + 20, LightTexture.block(packedLight) << 4);
+            this.instanceFloats.put(base + 21, LightTexture.sky(packedLight) << 4);
+        }
+
+        private void draw() {
+            if (this.closed || this.instanceCount == 0) {
+                return;
+            }
+
+            GlStateManager._glBindVertexArray(this.vertexArray);
+            GlStateManager._glBindBuffer(GL15.GL_ARRAY_BUFFER, this.instanceBuffer);
+            this.instances.limit(this.instanceCount * INSTANCE_FLOATS * Float.BYTES);
+            GlStateManager._glBufferData(GL15.GL_ARRAY_BUFFER, this.instances, GL15.GL_STREAM_DRAW);
+            this.instances.clear();
+            GL31.glDrawArraysInstanced(GL11.GL_TRIANGLES, 0, this.vertexCount, this.instanceCount);
+            this.instanceCount = 0;
+        }
+
+        private void close() {
+            if (!this.closed) {
+                this.closed = true;
+                GlStateManager._glDeleteBuffers(this.vertexBuffer);
+                GlStateManager._glDeleteBuffers(this.instanceBuffer);
+                GlStateManager._glDeleteVertexArrays(this.vertexArray);
+                MemoryUtil.memFree(this.instances);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package xyz.brassgoggledcoders.skyships.renderer;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Matrix3f;
+import com.mojang.math.Matrix4f;
+import com.mojang.math.Vector3f;
+import com.mojang.math.Vector4f;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import net.minecraft.client.model.geom.ModelPart;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.world.phys.AABB;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+
+/**
+ * Geometry of model parts that never animate, captured once in model space so a frame only has to push each vertex
+ * through the ship's pose instead of walking every part, cube and polygon again.
+ */
+public class SkyShipMesh {
+    public static final int TRIANGLE_STRIDE = 8;
+    private static final int STRIDE = 8;
+    private static final int[] QUAD_TRIANGLES = {0, 1, 2, 0, 2, 3};
+
+    private final float[] vertices;
+    private final Vector4f position = new Vector4f();
+    private final Vector3f normal = new Vector3f();
+
+    private SkyShipMesh(float[] vertices) {
+        this.vertices = vertices;
+    }
+
+    public static SkyShipMesh bake(ModelPart... parts) {
+        Capture capture = new Capture();
+        PoseStack poseStack = new PoseStack();
+        for (ModelPart part : parts) {
+            part.render(poseStack, capture, LightTexture.FULL_BRIGHT, OverlayTexture.NO_OVERLAY);
+        }
+        return new SkyShipMesh(capture.vertices.toFloatArray());
+    }
+
+    public int getVertexCount() {
+        return this.vertices.length / STRIDE;
+    }
+
+    public AABB getBounds(Matrix4f pose) {
+        Vector4f position = new Vector4f();
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (int i = 0; i < this.vertices.length; i += STRIDE) {
+            position.set(this.vertices[i], this.vertices[i + 1], this.vertices[i + 2], 1.0F);
+            position.transform(pose);
+            minX = Math.min(minX, position.x());
+            minY = Math.min(minY, position.y());
+            minZ = Math.min(minZ, position.z());
+            maxX = Math.max(maxX, position.x());
+            maxY = Math.max(maxY, position.y());
+            maxZ = Math.max(maxZ, position.z());
+        }
+        return new AABB(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    public int getTriangleVertexCount() {
+        return this.getVertexCount() / 4 * 6;
+    }
+
+    /**
+     * Writes the mesh as triangles with its UVs remapped into the sprite, for uploading to a vertex buffer.
+     */
+    public void writeTriangles(ByteBuffer buffer, TextureAtlasSprite sprite) {
+        float u0 = sprite.getU0();
+        float uScale = sprite.getU1() - u0;
+        float v0 = sprite.getV0();
+        float vScale = sprite.getV1() - v0;
+        float[] vertices = this.vertices;
+        for (int quad = 0; quad < vertices.length; quad += STRIDE * 4) {
+            for (int corner : QUAD_TRIANGLES) {
+                int i = quad + corner * STRIDE;
+                buffer.putFloat(vertices[i]);
+                buffer.putFloat(vertices[i + 1]);
+                buffer.putFloat(vertices[i + 2]);
+                buffer.putFloat(u0 + vertices[i + 3] * uScale);
+                buffer.putFloat(v0 + vertices[i + 4] * vScale);
+                buffer.putFloat(vertices[i + 5]);
+                buffer.putFloat(vertices[i + 6]);
+                buffer.putFloat(vertices[i + 7]);
+            }
+        }
+    }
+
+    public void render(PoseStack poseStack, VertexConsumer buffer, TextureAtlasSprite sprite, int packedLight, int packedOverlay) {
+        Matrix4f pose = poseStack.last().pose();
+        Matrix3f normalMatrix = poseStack.last().normal();
+        float u0 = sprite.getU0();
+        float uScale = sprite.getU1() - u0;
+        float v0 = sprite.getV0();
+        float vScale = sprite.getV1() - v0;
+        float[] vertices = this.vertices;
+        for (int i = 0; i < vertices.length; i += STRIDE) {
+            this.position.set(vertices[i], vertices[i + 1], vertices[i + 2], 1.0F);
+            this.position.transform(pose);
+            this.normal.set(vertices[i + 5], vertices[i + 6], vertices[i + 7]);
+            this.normal.transform(normalMatrix);
+            buffer.vertex(this.position.x(), this.position.y(), this.position.z(), 1.0F, 1.0F, 1.0F, 1.0F,
+                    u0 + vertices[i + 3] * uScale, v0 + vertices[i + 4] * vScale, packedOverlay, packedLight,
+                    this.normal.x(), this.normal.y(), this.normal.z());
+        }
+    }
+
+    /**
+     * Keeps the position, UV and normal of each vertex a model part renders, whichever way the part writes it. The
+     * packed {@link VertexConsumer#vertex(float, float, float, float, float, float, float, float, float, int, int, float, float, float)}
+     * form goes through these same element calls.
+     */
+    private static class Capture implements VertexConsumer {
+        private final FloatArrayList vertices = new FloatArrayList();
+        private float x;
+        private float y;
+        private float z;
+        private float u;
+        private float v;
+        private float normalX;
+        private float normalY;
+        private float normalZ;
+
+        @Override
+        @Nonnull
+        public VertexConsumer vertex(double x, double y, double z) {
+            this.x = (float) x;
+            this.y = (float) y;
+            this.z = (float) z;
+            return this;
+        }
+
+        @Override
+        @Nonnull
+        public VertexConsumer color(int red, int green, int blue, int alpha) {
+            return this;
+        }
+
+        @Override
+        @Nonnull
+        public VertexConsumer uv(float u, float v) {
+            this.u = u;
+            this.v = v;
+            return this;
+        }
+
+        @Override
+        @Nonnull
+        public VertexConsumer overlayCoords(int u, int v) {
+            return this;
+        }
+
+        @Override
+        @Nonnull
+        public VertexConsumer uv2(int u, int v) {
+            return this;
+        }
+
+        @Override
+        @Nonnull
+        public VertexConsumer normal(float x, float y, float z) {
+            this.normalX = x;
+            this.normalY = y;
+            this.normalZ = z;
+            return this;
+        }
+
+        @Override
+        public void endVertex() {
+            this.vertices.add(this.x);
+            this.vertices.add(this.y);
+            this.vertices.add(this.z);
+            this.vertices.add(this.u);
+            this.vertices.add(this.v);
+            this.vertices.add(this.normalX);
+            this.vertices.add(this.normalY);
+            this.vertices.add(this.normalZ);
+        }
+
+        @Override
+        public void defaultColor(int red, int green, int blue, int alpha) {
+        }
+
+        @Override
+        public void unsetDefaultColor() {
+        }
+    }
+}
@@ -2,24 +2,32 @@ package xyz.brassgoggledcoders.skyships.renderer;
 
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Matrix4f;
 import com.mojang.math.Vector3f;
 import net.minecraft.client.model.PandaModel;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
 import net.minecraft.client.model.geom.ModelLayerLocation;
+import net.minecraft.client.renderer.LightTexture;
 import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.culling.Frustum;
 import net.minecraft.client.renderer.entity.EntityRenderer;
 import net.minecraft.client.renderer.entity.EntityRendererProvider;
 import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
+import net.minecraft.world.phys.AABB;
 import xyz.brassgoggledcoders.skyships.SkyShips;
+import xyz.brassgoggledcoders.skyships.config.SkyShipsConfig;
 import xyz.brassgoggledcoders.skyships.entity.SkyShip;
 
 import javax.annotation.Nonnull;
 
 public class SkyShipRenderer<T extends SkyShip> extends EntityRenderer<T> {
-    private static final ResourceLocation BALLOON_TEXTURE = SkyShips.rl("textures/entity/balloon_white.png");
-    private static final ResourceLocation STEERING_TEXTURE = SkyShips.rl("textures/entity/steering_oak.png");
-    private static final ResourceLocation GONDOLA_TEXTURE = SkyShips.rl("textures/entity/gondola_oak.png");
+    private static final double CULLING_MARGIN = 0.5D;
 
     public static final ModelLayerLocation BALLOON_LOCATION = new ModelLayerLocation(SkyShips.rl("balloon/white"), "main");
     public static final ModelLayerLocation STEERING_LOCATION = new ModelLayerLocation(SkyShips.rl("steering/oak"), "main");
@@ -28,16 +36,80 @@ public class SkyShipRenderer<T extends SkyShip> extends EntityRenderer<T> {
     private final BalloonModel<SkyShip> balloonModel;
     private final SteeringModel<SkyShip> steeringModel;
     private final GondolaModel<SkyShip> gondolaModel;
+    private final SkyShipMesh balloonMesh;
+    private final SkyShipMesh simplifiedBalloonMesh;
+    private final SkyShipMesh steeringMesh;
+    private final SkyShipMesh gondolaMesh;
+    private final AABB cullingBox;
+    private final AABB hurtCullingBox;
+    private SkyShipInstancer.Batch instanceBatch;
+    private SkyShipInstancer.Batch simplifiedInstanceBatch;
 
     public SkyShipRenderer(EntityRendererProvider.Context rendererManager) {
         super(rendererManager);
         this.balloonModel = new BalloonModel<>(rendererManager.bakeLayer(BALLOON_LOCATION));
         this.steeringModel = new SteeringModel<>(rendererManager.bakeLayer(STEERING_LOCATION));
         this.gondolaModel = new GondolaModel<>(rendererManager.bakeLayer(GONDOLA_LOCATION));
+        this.balloonMesh = this.balloonModel.bakeMesh();
+        this.simplifiedBalloonMesh = this.balloonModel.bakeSimplifiedMesh();
+        this.steeringMesh = this.steeringModel.bakeMesh();
+        this.gondolaMesh = this.gondolaModel.bakeMesh();
+
+        PoseStack poseStack = new PoseStack();
+        poseStack.translate(0.0D, 0.375D, 0.0D);
+        poseStack.scale(-1.0F, -1.0F, 1.0F);
+        poseStack.mulPose(Vector3f.YP.rotationDegrees(-90.0F));
+        poseStack.translate(0F, -1.5F, 0F);
+        Matrix4f pose = poseStack.last().pose();
+        AABB bounds = this.balloonMesh.getBounds(pose)
+                .minmax(this.steeringModel.bakeFullMesh().getBounds(pose))
+                .minmax(this.gondolaMesh.getBounds(pose));
+
+        double reachX = Math.max(-bounds.minX, bounds.maxX);
+        double reachZ = Math.max(-bounds.minZ, bounds.maxZ);
+        double horizontalSqr = reachX * reachX + reachZ * reachZ;
+        double radius = Math.sqrt(horizontalSqr) + CULLING_MARGIN;
+        this.cullingBox = new AABB(-radius, bounds.minY - CULLING_MARGIN, -radius, radius, bounds.maxY + CULLING_MARGIN, radius);
+
+        double vertical = Math.max(0.375D - bounds.minY, bounds.maxY - 0.375D);
+        double hurtRadius = Math.sqrt(horizontalSqr + vertical * vertical) + CULLING_MARGIN;
+        this.hurtCullingBox = new AABB(-hurtRadius, 0.375D - hurtRadius, -hurtRadius, hurtRadius, 0.375D + hurtRadius, hurtRadius);
+    }
+
+    /**
+     * The box around the entity's position that the model can reach at any yaw, worked out from the baked meshes.
+     */
+    public AABB getCullingBox() {
+        return this.cullingBox;
+    }
+
+    @Override
+    public boolean shouldRender(@Nonnull T pEntity, @Nonnull Frustum pCamera, double pCamX, double pCamY, double pCamZ) {
+        if (!pEntity.shouldRender(pCamX, pCamY, pCamZ)) {
+            return false;
+        } else if (pEntity.noCulling) {
+            return true;
+        }
+
+        AABB box = pEntity.getHurtTime() > 0 ? this.hurtCullingBox : this.cullingBox;
+        return pCamera.isVisible(box.move(pEntity.getX(), pEntity.getY(), pEntity.getZ())
+                .minmax(box.move(pEntity.xo, pEntity.yo, pEntity.zo)));
     }
 
     @Override
     public void render(T pEntity, float pEntityYaw, float pPartialTicks, PoseStack pMatrixStack, @Nonnull MultiBufferSource pBuffer, int pPackedLight) {
+        double distanceSqr = this.entityRenderDispatcher.distanceToSqr(pEntity);
+        SkyShipDetail detail = SkyShipDetail.forDistanceSqr(distanceSqr);
+        if (SkyShipsConfig.SHOW_DETAIL_OVERLAY.get()) {
+            this.renderDetailLabel(pEntity, detail, distanceSqr, pMatrixStack, pBuffer);
+        }
+
+        if (detail == SkyShipDetail.IMPOSTOR) {
+            this.renderImpostor(pMatrixStack, pBuffer.getBuffer(RenderType.entityCutoutNoCull(SkyShipAtlas.LOCATION)), pPackedLight);
+            super.render(pEntity, pEntityYaw, pPartialTicks, pMatrixStack, pBuffer, pPackedLight);
+            return;
+        }
+
         pMatrixStack.pushPose();
         pMatrixStack.translate(0.0D, 0.375D, 0.0D);
         pMatrixStack.mulPose(Vector3f.YP.rotationDegrees(180.0F - pEntityYaw));
@@ -55,17 +127,22 @@ public class SkyShipRenderer<T extends SkyShip> extends EntityRenderer<T> {
         pMatrixStack.mulPose(Vector3f.YP.rotationDegrees(-90.0F));
 
         pMatrixStack.translate(0F, -1.5F, 0F);
-        this.balloonModel.setupAnim(pEntity, pPartialTicks, 0.0F, -0.1F, 0.0F, 0.0F);
-        VertexConsumer balloonVertexBuilder = pBuffer.getBuffer(this.balloonModel.renderType(BALLOON_TEXTURE));
-        this.balloonModel.renderToBuffer(pMatrixStack, balloonVertexBuilder, pPackedLight, OverlayTexture.NO_OVERLAY, 1.0F, 1.0F, 1.0F, 1.0F);
-
-        this.steeringModel.setupAnim(pEntity, pPartialTicks, 0.0F, -0.1F, 0.0F, 0.0F);
-        VertexConsumer gondolaVertexBuilder = pBuffer.getBuffer(this.steeringModel.renderType(STEERING_TEXTURE));
-        this.steeringModel.renderToBuffer(pMatrixStack, gondolaVertexBuilder, pPackedLight, OverlayTexture.NO_OVERLAY, 1.0F, 1.0F, 1.0F, 1.0F);
+        VertexConsumer vertexBuilder = pBuffer.getBuffer(RenderType.entityCutoutNoCull(SkyShipAtlas.LOCATION));
+        TextureAtlasSprite steeringSprite = SkyShipAtlas.sprite(SkyShipAtlas.STEERING_OAK);
+        boolean simplified = detail == SkyShipDetail.SIMPLIFIED;
+        if (SkyShipInstancer.isActive() && !Minecraft.getInstance().shouldEntityAppearGlowing(pEntity)) {
+            this.getInstanceBatch(simplified).add(pMatrixStack.last().pose(), -1, pPackedLight);
+        } else {
+            SkyShipMesh balloon = simplified ? this.simplifiedBalloonMesh : this.balloonMesh;
+            balloon.render(pMatrixStack, vertexBuilder, SkyShipAtlas.sprite(SkyShipAtlas.BALLOON_WHITE), pPackedLight, OverlayTexture.NO_OVERLAY);
+            this.steeringMesh.render(pMatrixStack, vertexBuilder, steeringSprite, pPackedLight, OverlayTexture.NO_OVERLAY);
+            this.gondolaMesh.render(pMatrixStack, vertexBuilder, SkyShipAtlas.sprite(SkyShipAtlas.GONDOLA_OAK), pPackedLight, OverlayTexture.NO_OVERLAY);
+        }
 
-        this.gondolaModel.setupAnim(pEntity, pPartialTicks, 0.0F, -0.1F, 0.0F, 0.0F);
-        VertexConsumer steeringVertexBuilder = pBuffer.getBuffer(this.gondolaModel.renderType(GONDOLA_TEXTURE));
-        this.gondolaModel.renderToBuffer(pMatrixStack, steeringVertexBuilder, pPackedLight, OverlayTexture.NO_OVERLAY, 1.0F, 1.0F, 1.0F, 1.0F);
+        if (!simplified) {
+            this.steeringModel.setupAnim(pEntity, pPartialTicks, 0.0F, -0.1F, 0.0F, 0.0F);
+            this.steeringModel.renderPropellers(pMatrixStack, steeringSprite.wrap(vertexBuilder), pPackedLight, OverlayTexture.NO_OVERLAY);
+        }
 
         pMatrixStack.pushPose();
         pMatrixStack.mulPose(Vector3f.ZP.rotationDegrees(180));
@@ -79,10 +156,81 @@ public class SkyShipRenderer<T extends SkyShip> extends EntityRenderer<T> {
         super.render(pEntity, pEntityYaw, pPartialTicks, pMatrixStack, pBuffer, pPackedLight);
     }
 
+    private void renderImpostor(PoseStack pMatrixStack, VertexConsumer vertexBuilder, int pPackedLight) {
+        pMatrixStack.pushPose();
+        pMatrixStack.mulPose(Vector3f.YP.rotationDegrees(180.0F - this.entityRenderDispatcher.camera.getYRot()));
+        PoseStack.Pose pose = pMatrixStack.last();
+
+        TextureAtlasSprite balloonSprite = SkyShipAtlas.sprite(SkyShipAtlas.BALLOON_WHITE);
+        impostorQuad(pose, vertexBuilder, -1.0F, 1.0F, 1.9375F, 3.9375F,
+                balloonSprite.getU(4.0D), balloonSprite.getU(8.0D), balloonSprite.getV(12.0D), balloonSprite.getV(16.0D), pPackedLight);
+        TextureAtlasSprite gondolaSprite = SkyShipAtlas.sprite(SkyShipAtlas.GONDOLA_OAK);
+        impostorQuad(pose, vertexBuilder, -1.25F, 1.25F, 0.375F, 0.75F,
+                gondolaSprite.getU(0.5D), gondolaSprite.getU(4.0D), gondolaSprite.getV(3.375D), gondolaSprite.getV(4.125D), pPackedLight);
+
+        pMatrixStack.popPose();
+    }
+
+    private static void impostorQuad(PoseStack.Pose pose, VertexConsumer vertexBuilder, float x0, float x1, float y0, float y1,
+                                     float u0, float u1, float v0, float v1, int pPackedLight) {
+        impostorVertex(pose, vertexBuilder, x0, y0, u0, v1, pPackedLight);
+        impostorVertex(pose, vertexBuilder, x1, y0, u1, v1, pPackedLight);
+        impostorVertex(pose, vertexBuilder, x1, y1, u1, v0, pPackedLight);
+        impostorVertex(pose, vertexBuilder, x0, y1, u0, v0, pPackedLight);
+    }
+
+    private static void impostorVertex(PoseStack.Pose pose, VertexConsumer vertexBuilder, float x, float y, float u, float v, int pPackedLight) {
+        vertexBuilder.vertex(pose.pose(), x, y, 0.0F)
+                .color(1.0F, 1.0F, 1.0F, 1.0F)
+                .uv(u, v)
+                .overlayCoords(OverlayTexture.NO_OVERLAY)
+                .uv2(pPackedLight)
+                .normal(pose.normal(), 0.0F, 0.0F, 1.0F)
+                .endVertex();
+    }
+
+    private void renderDetailLabel(T pEntity, SkyShipDetail detail, double distanceSqr, PoseStack pMatrixStack, MultiBufferSource pBuffer) {
+        Component label = Component.literal(detail.name());
+        float scale = 0.025F * Math.max(1.0F, (float) Math.sqrt(distanceSqr) / 16.0F);
+        pMatrixStack.pushPose();
+        pMatrixStack.translate(0.0D, pEntity.getBbHeight() + 0.5D, 0.0D);
+        pMatrixStack.mulPose(this.entityRenderDispatcher.cameraOrientation());
+        pMatrixStack.scale(-scale, -scale, scale);
+        Font font = this.getFont();
+        font.drawInBatch(label, -font.width(label) / 2.0F, 0.0F, 0xFFFFFFFF, false, pMatrixStack.last().pose(), pBuffer,
+                true, 0x40000000, LightTexture.FULL_BRIGHT);
+        pMatrixStack.popPose();
+    }
+
+    private SkyShipInstancer.Batch getInstanceBatch(boolean simplified) {
+        if (simplified) {
+            if (this.simplifiedInstanceBatch == null || this.simplifiedInstanceBatch.isClosed()) {
+                this.simplifiedInstanceBatch = this.createInstanceBatch(this.simplifiedBalloonMesh);
+            }
+            return this.simplifiedInstanceBatch;
+        }
+
+        if (this.instanceBatch == null || this.instanceBatch.isClosed()) {
+            this.instanceBatch = this.createInstanceBatch(this.balloonMesh);
+        }
+        return this.instanceBatch;
+    }
+
+    private SkyShipInstancer.Batch createInstanceBatch(SkyShipMesh balloon) {
+        return SkyShipInstancer.createBatch(
+                balloon.getTriangleVertexCount() + this.steeringMesh.getTriangleVertexCount() + this.gondolaMesh.getTriangleVertexCount(),
+                buffer -> {
+                    balloon.writeTriangles(buffer, SkyShipAtlas.sprite(SkyShipAtlas.BALLOON_WHITE));
+                    this.steeringMesh.writeTriangles(buffer, SkyShipAtlas.sprite(SkyShipAtlas.STEERING_OAK));
+                    this.gondolaMesh.writeTriangles(buffer, SkyShipAtlas.sprite(SkyShipAtlas.GONDOLA_OAK));
+                }
+        );
+    }
+
     @Override
     @Nonnull
     public ResourceLocation getTextureLocation(@Nonnull SkyShip pEntity) {
-        return BALLOON_TEXTURE;
+        return SkyShipAtlas.LOCATION;
     }
 
     protected void renderContents(T skyShip, float pPartialTicks, PoseStack pMatrixStack, MultiBufferSource pBuffer, int pPackedLight) {
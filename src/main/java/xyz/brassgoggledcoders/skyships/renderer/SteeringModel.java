@@ -45,6 +45,30 @@ public class SteeringModel<T extends SkyShip> extends EntityModel<T> {
         return LayerDefinition.create(meshdefinition, 64, 64);
     }
 
+    public SkyShipMesh bakeMesh() {
+        this.leftPropeller.visible = false;
+        this.rightPropeller.visible = false;
+        SkyShipMesh mesh = SkyShipMesh.bake(this.addons);
+        this.leftPropeller.visible = true;
+        this.rightPropeller.visible = true;
+        return mesh;
+    }
+
+    /**
+     * Everything including the propellers at rest, for working out how far the model reaches.
+     */
+    public SkyShipMesh bakeFullMesh() {
+        return SkyShipMesh.bake(this.addons);
+    }
+
+    public void renderPropellers(PoseStack poseStack, VertexConsumer buffer, int packedLight, int packedOverlay) {
+        poseStack.pushPose();
+        this.addons.translateAndRotate(poseStack);
+        this.leftPropeller.render(poseStack, buffer, packedLight, packedOverlay);
+        this.rightPropeller.render(poseStack, buffer, packedLight, packedOverlay);
+        poseStack.popPose();
+    }
+
     @Override
     @ParametersAreNonnullByDefault
     public void setupAnim(T entity, float limbSwing, float limbSwingAmount, float ageInTicks, float netHeadYaw, float headPitch) {
@@ -0,0 +1,92 @@
+package xyz.brassgoggledcoders.skyships.sound;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.sounds.AbstractTickableSoundInstance;
+import net.minecraft.client.resources.sounds.SoundInstance;
+import net.minecraft.client.sounds.SoundManager;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import xyz.brassgoggledcoders.skyships.entity.SkyShip;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The looping sound of a ship's propulsion, played entirely on the client from the ship's paddle and vertical state.
+ * It fades with distance to the listener and stops once the ship is out of earshot or its engine stops, to be started
+ * again by the ship when it is next heard running.
+ */
+public class SkyShipEngineSound extends AbstractTickableSoundInstance {
+    private static final double CULL_DISTANCE = 48.0D;
+    private static final float FADE = 0.1F;
+    private static final Map<SkyShip, SkyShipEngineSound> PLAYING = new WeakHashMap<>();
+
+    private final SkyShip skyShip;
+    private float running;
+
+    private SkyShipEngineSound(SkyShip skyShip, SoundEvent soundEvent) {
+        super(soundEvent, skyShip.getSoundSource(), SoundInstance.createUnseededRandom());
+        this.skyShip = skyShip;
+        this.looping = true;
+        this.delay = 0;
+        this.volume = 0.0F;
+        this.attenuation = SoundInstance.Attenuation.NONE;
+        this.x = skyShip.getX();
+        this.y = skyShip.getY();
+        this.z = skyShip.getZ();
+    }
+
+    /**
+     * Starts the ship's engine sound unless it is already playing, returning whether the sound engine has it. A sound
+     * the engine turns down, or drops later on, leaves the ship free to try again.
+     */
+    public static boolean play(SkyShip skyShip, SoundEvent soundEvent) {
+        SoundManager soundManager = Minecraft.getInstance().getSoundManager();
+        SkyShipEngineSound playing = PLAYING.get(skyShip);
+        if (playing != null && soundManager.isActive(playing)) {
+            return true;
+        }
+
+        Player player = Minecraft.getInstance().player;
+        if (player == null || player.distanceToSqr(skyShip) > CULL_DISTANCE * CULL_DISTANCE) {
+            PLAYING.remove(skyShip);
+            return false;
+        }
+
+        SkyShipEngineSound sound = new SkyShipEngineSound(skyShip, soundEvent);
+        soundManager.play(sound);
+        if (soundManager.isActive(sound)) {
+            PLAYING.put(skyShip, sound);
+            return true;
+        }
+        PLAYING.remove(skyShip);
+        return false;
+    }
+
+    @Override
+    public boolean canStartSilent() {
+        //Fades in from silence, which the sound engine would otherwise refuse to start
+        return true;
+    }
+
+    @Override
+    public void tick() {
+        Entity listener = Minecraft.getInstance().getCameraEntity();
+        double distance = listener == null ? CULL_DISTANCE : Math.sqrt(listener.distanceToSqr(this.skyShip));
+        this.running = Mth.approach(this.running, this.skyShip.isEngineRunning() ? 1.0F : 0.0F, FADE);
+        if (this.skyShip.isRemoved() || distance >= CULL_DISTANCE || this.running <= 0.0F) {
+            this.skyShip.setEngineSoundPlaying(false);
+            PLAYING.remove(this.skyShip, this);
+            this.stop();
+            return;
+        }
+
+        this.x = this.skyShip.getX();
+        this.y = this.skyShip.getY();
+        this.z = this.skyShip.getZ();
+        this.volume = this.running * (float) (1.0D - distance / CULL_DISTANCE);
+        this.pitch = 1.0F + 0.1F * this.skyShip.getPaddleVertical();
+    }
+}